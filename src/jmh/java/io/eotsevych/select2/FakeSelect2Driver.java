@@ -0,0 +1,483 @@
+package io.eotsevych.select2;
+
+import io.eotsevych.select2.instrumentation.CommandType;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process WebDriver modelling the Select2 widgets of {@code src/test/resources/index.html}.
+ * It answers exactly the locators, scripts and actions issued by {@link Select2}, counts every command
+ * by {@link CommandType} and delays each command by a configurable latency, imitating a remote grid.
+ */
+final class FakeSelect2Driver implements WebDriver, JavascriptExecutor, Interactive {
+    private static final List<String> STATES = List.of("AK:Alaska", "HI:Hawaii", "CA:California", "NV:Nevada", "OR:Oregon", "WA:Washington");
+
+    private final long latencyNanos;
+    private final Map<String, Widget> widgets = new LinkedHashMap<>();
+    private final Map<CommandType, LongAdder> commands = new EnumMap<>(CommandType.class);
+
+    FakeSelect2Driver(Duration commandLatency) {
+        this.latencyNanos = commandLatency.toNanos();
+        for (CommandType type : CommandType.values()) {
+            commands.put(type, new LongAdder());
+        }
+    }
+
+    /**
+     * Creates a driver with the widgets of {@code index.html}, each holding {@code optionCount} options.
+     * The first six options are the US states of the original page, the rest are generated.
+     */
+    static FakeSelect2Driver indexPage(Duration commandLatency, int optionCount) {
+        FakeSelect2Driver driver = new FakeSelect2Driver(commandLatency);
+        driver.addWidget("single-select", false, true, optionCount);
+        driver.addWidget("multiple-select", true, true, optionCount);
+        driver.addWidget("multiple-select-remain-open", true, false, optionCount);
+        Widget predefined = driver.addWidget("multiple-select-predefined", true, true, optionCount);
+        predefined.options.stream().skip(2).limit(4).forEach(option -> option.selected = true);
+        return driver;
+    }
+
+    Widget addWidget(String cssClass, boolean multiple, boolean closeOnSelect, int optionCount) {
+        Widget widget = new Widget(this, cssClass, multiple, closeOnSelect);
+        for (int i = 0; i < optionCount; i++) {
+            String[] state = i < STATES.size() ? STATES.get(i).split(":") : new String[]{"O" + i, "Option " + i};
+            widget.options.add(new Option(state[0], state[1]));
+        }
+        widgets.put(cssClass, widget);
+        return widget;
+    }
+
+    Widget getWidget(String cssClass) {
+        return widgets.get(cssClass);
+    }
+
+    /**
+     * Get number of commands issued so far.
+     */
+    long getCommandCount() {
+        return commands.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long getCommandCount(CommandType type) {
+        return commands.get(type).sum();
+    }
+
+    void command(String methodName) {
+        commands.get(CommandType.of(methodName)).increment();
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+
+    List<FakeWebElement> locate(FakeWebElement context, By by) {
+        String locator = by.toString();
+        Widget widget = context == null ? openWidget() : context.widget;
+        if (locator.startsWith("By.cssSelector: .") && widgets.containsKey(locator.substring(17).trim())) {
+            return List.of(widgets.get(locator.substring(17).trim()).select);
+        }
+        if (widget == null) {
+            return List.of();
+        }
+        switch (locator) {
+            case "By.xpath: ./../span":
+                return List.of(widget.container);
+            case "By.xpath: " + Select2.SELECT_2_DROPDOWN_LOCATOR:
+                Widget open = openWidget();
+                return open == null ? List.of() : List.of(open.dropdown);
+            case "By.cssSelector: .select2-selection":
+                return List.of(widget.selection);
+            case "By.cssSelector: .select2-selection--multiple":
+            case "By.cssSelector: [type='search']":
+                return widget.multiple ? List.of(locator.endsWith("multiple") ? widget.selection : widget.search) : List.of();
+            case "By.cssSelector: input.select2-search__field":
+                return widget.multiple || !widget.open ? List.of() : List.of(widget.search);
+            case "By.cssSelector: " + Select2.SELECT_2_RESULTS_LI:
+                return widget.results();
+            case "By.cssSelector: .select2-selection__rendered,.select2-selection__choice":
+                return List.of(widget.rendered);
+            case "By.cssSelector: .select2-selection__choice":
+            case "By.xpath: .//li[@class='select2-selection__choice']":
+                return widget.choices();
+            case "By.xpath: .//*[contains(@class,'choice__remove')]":
+            case "By.cssSelector: span":
+                return List.of(new FakeWebElement(this, FakeWebElement.Kind.CHOICE_REMOVE, widget, context.option));
+            case "By.cssSelector: .select2-selection__clear":
+                return widget.selected().isEmpty() ? List.of() : List.of(widget.clear);
+            default:
+                if (locator.startsWith("By.xpath: //span[contains(@class, 'select2-search')")) {
+                    return widget.multiple || !widget.open ? List.of() : List.of(widget.search);
+                }
+                if (locator.startsWith("By.xpath: id('select2-")) {
+                    Widget owner = widgets.get(locator.substring(locator.indexOf("select2-") + 8, locator.indexOf("-results')")));
+                    return owner != null && owner.open ? List.of(owner.dropdown) : List.of();
+                }
+                if (locator.startsWith("By.xpath: .//span[text()='")) {
+                    String text = locator.substring(locator.indexOf('\'') + 1, locator.lastIndexOf("']"));
+                    return widget.choices().stream().filter(choice -> choice.option.text.equals(text))
+                            .map(choice -> new FakeWebElement(this, FakeWebElement.Kind.CHOICE_REMOVE, widget, choice.option))
+                            .toList();
+                }
+                throw new UnsupportedOperationException("FakeSelect2Driver does not support locator " + locator);
+        }
+    }
+
+    private Widget openWidget() {
+        return widgets.values().stream().filter(widget -> widget.open).findFirst().orElse(null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object executeScript(String script, Object... args) {
+        command("executeScript");
+        Widget widget = ((FakeWebElement) args[0]).widget;
+        if (script.equals(Select2Scripts.OPTION_SNAPSHOT)) {
+            List<Map<String, Object>> snapshot = new ArrayList<>();
+            for (FakeWebElement result : widget.results()) {
+                Map<String, Object> option = new LinkedHashMap<>();
+                option.put("index", snapshot.size());
+                option.put("text", result.option.text);
+                option.put("value", result.option.value);
+                option.put("disabled", false);
+                option.put("selected", result.option.selected);
+                option.put("optgroup", null);
+                snapshot.add(option);
+            }
+            return snapshot;
+        }
+        if (script.equals(Select2Scripts.RESULT_SELECTED)) {
+            List<FakeWebElement> results = widget.results();
+            int index = ((Number) args[1]).intValue();
+            if (index >= results.size()) {
+                return null;
+            }
+            Option option = results.get(index).option;
+            return Map.of("selected", option.selected, "multiple", widget.multiple, "value", option.value,
+                    "values", widget.selected().stream().map(selected -> selected.value).toList());
+        }
+        if (script.equals(Select2Scripts.SELECTED_VALUES)) {
+            return widget.selected().stream().map(option -> option.value).toList();
+        }
+        if (script.equals(Select2Scripts.RESULT_INDEX)) {
+            List<FakeWebElement> results = widget.results();
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).option.value.equals(args[1])) {
+                    return (long) i;
+                }
+            }
+            return -1L;
+        }
+        if (script.equals(Select2Scripts.RESTORE_SELECTION)) {
+            List<String> values = (List<String>) args[1];
+            boolean changed = false;
+            for (Option option : widget.options) {
+                if (option.selected != values.contains(option.value)) {
+                    option.selected = !option.selected;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                widget.version++;
+            }
+            return changed;
+        }
+        if (script.equals(Select2Scripts.RESULT_ELEMENT)) {
+            return widget.results().get(((Number) args[1]).intValue());
+        }
+        if (script.equals(Select2Scripts.TOGGLE_DROPDOWN)) {
+            if (widget.open != "open".equals(args[1])) {
+                widget.toggle();
+            }
+            return true;
+        }
+        if (script.equals(Select2Scripts.CHOOSE_RESULT)) {
+            List<FakeWebElement> results = widget.results();
+            int index = ((Number) args[1]).intValue();
+            if (index >= results.size()) {
+                return false;
+            }
+            results.get(index).click(false);
+            return true;
+        }
+        if (script.equals(Select2Scripts.OPTION_VERSION)) {
+            return widget.version;
+        }
+        if (script.equals(Select2Scripts.UNSELECT_BY_TEXT)) {
+            List<String> texts = (List<String>) args[1];
+            List<String> removed = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            if (texts == null) {
+                widget.selected().forEach(option -> removed.add(option.text));
+            } else {
+                for (String text : texts) {
+                    (widget.selected().stream().anyMatch(option -> option.text.equalsIgnoreCase(text)) ? removed : missing).add(text);
+                }
+            }
+            widget.options.stream().filter(option -> removed.stream().anyMatch(option.text::equalsIgnoreCase))
+                    .forEach(option -> option.selected = false);
+            widget.version++;
+            List<String> remaining = widget.selected().stream().map(option -> option.text).toList();
+            return Map.of("removed", removed, "missing", missing, "remaining", remaining,
+                    "rendered", widget.multiple ? remaining : List.of(),
+                    "texts", widget.options.stream().map(option -> option.text).toList());
+        }
+        if (script.equals(Select2Scripts.SET_BY_VALUE)) {
+            List<String> values = (List<String>) args[1];
+            for (String value : values) {
+                widget.options.stream().filter(option -> option.value.equals(value)).findFirst()
+                        .ifPresent(option -> option.selected = (Boolean) args[2]);
+            }
+            widget.version++;
+            return Map.of("missing", List.of(), "values", List.of(), "disabled", List.of());
+        }
+        if (script.equals(Select2Scripts.PROFILE)) {
+            Map<String, Object> profile = new LinkedHashMap<>();
+            profile.put("multiple", widget.multiple);
+            profile.put("searchField", widget.multiple ? "INLINE" : "DROPDOWN");
+            profile.put("ajax", false);
+            profile.put("tags", false);
+            profile.put("closeOnSelect", widget.closeOnSelect);
+            profile.put("resultsId", "select2-" + widget.cssClass + "-results");
+            return profile;
+        }
+        if (script.equals(Select2Scripts.RESULTS_ID)) {
+            return "select2-" + widget.cssClass + "-results";
+        }
+        if (script.equals(Select2Scripts.TYPE_SEARCH)) {
+            String term = widget.prefix((String) args[2]);
+            widget.search(term);
+            Map<String, Object> typed = new LinkedHashMap<>();
+            typed.put("term", term);
+            typed.put("loads", widget.version);
+            return typed;
+        }
+        throw new UnsupportedOperationException("FakeSelect2Driver does not support script " + script);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        command("executeAsyncScript");
+        throw new UnsupportedOperationException("FakeSelect2Driver does not support async scripts");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void perform(Collection<Sequence> actions) {
+        command("perform");
+        for (Sequence sequence : actions) {
+            for (Map<String, Object> action : (List<Map<String, Object>>) sequence.toJson().get("actions")) {
+                if (action.get("origin") instanceof FakeWebElement element) {
+                    element.click(false);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void resetInputState() {
+        command("resetInputState");
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command("findElements");
+        return new ArrayList<>(locate(null, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command("findElement");
+        List<FakeWebElement> elements = locate(null, by);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("No element found by " + by);
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public void get(String url) {
+        command("get");
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "file:///index.html";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Select2 Unit Page";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Option of the underlying {@code <select>}.
+     */
+    static final class Option {
+        final String value;
+        final String text;
+        boolean selected;
+
+        Option(String value, String text) {
+            this.value = value;
+            this.text = text;
+        }
+    }
+
+    /**
+     * State of a single Select2 widget: its elements, options, dropdown state and DOM version.
+     */
+    static final class Widget {
+        final String cssClass;
+        final boolean multiple;
+        final boolean closeOnSelect;
+        final List<Option> options = new ArrayList<>();
+        final FakeWebElement select;
+        final FakeWebElement container;
+        final FakeWebElement selection;
+        final FakeWebElement rendered;
+        final FakeWebElement search;
+        final FakeWebElement dropdown;
+        final FakeWebElement clear;
+        boolean open;
+        String term = "";
+        long version;
+
+        Widget(FakeSelect2Driver driver, String cssClass, boolean multiple, boolean closeOnSelect) {
+            this.cssClass = cssClass;
+            this.multiple = multiple;
+            this.closeOnSelect = closeOnSelect;
+            this.select = new FakeWebElement(driver, FakeWebElement.Kind.SELECT, this, null);
+            this.container = new FakeWebElement(driver, FakeWebElement.Kind.CONTAINER, this, null);
+            this.selection = new FakeWebElement(driver, FakeWebElement.Kind.SELECTION, this, null);
+            this.rendered = new FakeWebElement(driver, FakeWebElement.Kind.RENDERED, this, null);
+            this.search = new FakeWebElement(driver, FakeWebElement.Kind.SEARCH, this, null);
+            this.dropdown = new FakeWebElement(driver, FakeWebElement.Kind.DROPDOWN, this, null);
+            this.clear = new FakeWebElement(driver, FakeWebElement.Kind.CLEAR, this, null);
+        }
+
+        List<FakeWebElement> results() {
+            String query = term.toLowerCase();
+            return options.stream()
+                    .filter(option -> option.text.toLowerCase().contains(query))
+                    .map(option -> new FakeWebElement(select.driver, FakeWebElement.Kind.RESULT, this, option))
+                    .toList();
+        }
+
+        String prefix(String text) {
+            String key = text.trim().toLowerCase();
+            for (int k = 1; k < key.length(); k++) {
+                String prefix = key.substring(0, k);
+                if (options.stream().map(option -> option.text.toLowerCase())
+                        .noneMatch(other -> !other.equals(key) && other.contains(prefix))) {
+                    return text.trim().substring(0, k);
+                }
+            }
+            return text.trim();
+        }
+
+        List<Option> selected() {
+            return options.stream().filter(option -> option.selected).toList();
+        }
+
+        List<FakeWebElement> choices() {
+            return multiple
+                    ? selected().stream().map(option -> new FakeWebElement(select.driver, FakeWebElement.Kind.CHOICE, this, option)).toList()
+                    : List.of();
+        }
+
+        void toggle() {
+            open = !open;
+            term = "";
+            if (open) {
+                version++;
+            }
+        }
+
+        void search(String query) {
+            term = query;
+            version++;
+        }
+
+        void choose(Option option) {
+            if (multiple && option.selected) {
+                option.selected = false;
+            } else {
+                if (!multiple) {
+                    options.forEach(other -> other.selected = false);
+                }
+                option.selected = true;
+            }
+            version++;
+            if (closeOnSelect || !multiple) {
+                open = false;
+            }
+        }
+
+        void unselect(Option option) {
+            option.selected = false;
+            version++;
+            open = true;
+        }
+
+        void reset() {
+            options.forEach(option -> option.selected = false);
+            open = false;
+            term = "";
+            version++;
+        }
+    }
+}
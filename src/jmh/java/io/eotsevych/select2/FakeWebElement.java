@@ -0,0 +1,235 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Element of a {@link FakeSelect2Driver} widget. Every WebElement call is counted as a remote command.
+ */
+final class FakeWebElement implements WebElement, WrapsDriver {
+
+    /**
+     * Part of the Select2 markup the element represents.
+     */
+    enum Kind {
+        SELECT, CONTAINER, SELECTION, RENDERED, SEARCH, DROPDOWN, RESULT, CHOICE, CHOICE_REMOVE, CLEAR
+    }
+
+    final FakeSelect2Driver driver;
+    final Kind kind;
+    final FakeSelect2Driver.Widget widget;
+    final FakeSelect2Driver.Option option;
+
+    FakeWebElement(FakeSelect2Driver driver, Kind kind, FakeSelect2Driver.Widget widget, FakeSelect2Driver.Option option) {
+        this.driver = driver;
+        this.kind = kind;
+        this.widget = widget;
+        this.option = option;
+    }
+
+    @Override
+    public void click() {
+        click(true);
+    }
+
+    void click(boolean command) {
+        if (command) {
+            driver.command("click");
+        }
+        switch (kind) {
+            case CONTAINER, SELECTION, RENDERED -> widget.toggle();
+            case RESULT -> widget.choose(option);
+            case CHOICE_REMOVE -> widget.unselect(option);
+            case CLEAR -> {
+                widget.selected().forEach(widget::unselect);
+                widget.open = true;
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.command("sendKeys");
+        StringBuilder keys = new StringBuilder(widget.term);
+        for (CharSequence key : keysToSend) {
+            keys.append(key);
+        }
+        widget.search(keys.toString());
+    }
+
+    @Override
+    public void clear() {
+        driver.command("clear");
+        if (kind == Kind.SEARCH) {
+            widget.search("");
+        }
+    }
+
+    @Override
+    public void submit() {
+        driver.command("submit");
+    }
+
+    @Override
+    public String getTagName() {
+        driver.command("getTagName");
+        return switch (kind) {
+            case SELECT -> "select";
+            case SEARCH -> "input";
+            case RESULT, CHOICE -> "li";
+            case CHOICE_REMOVE, CLEAR -> "button";
+            default -> "span";
+        };
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        driver.command("getAttribute");
+        return switch (name) {
+            case "class" -> switch (kind) {
+                case CONTAINER -> "select2 select2-container select2-container--default" + (widget.open ? " select2-container--open" : "");
+                case SELECTION -> "select2-selection select2-selection--" + (widget.multiple ? "multiple" : "single");
+                default -> "";
+            };
+            case "aria-activedescendant" -> kind == Kind.SELECTION ? "select2-" + widget.cssClass + "-result" : null;
+            case "aria-disabled" -> kind == Kind.RESULT ? "false" : null;
+            case "title" -> option == null ? null : option.text;
+            case "outerHTML" -> switch (kind) {
+                case CONTAINER -> containerHtml();
+                case DROPDOWN -> dropdownHtml();
+                default -> "<" + getTagNameLocally() + " class=\"" + widget.cssClass + "\"></" + getTagNameLocally() + ">";
+            };
+            case "innerHTML" -> "<" + getTagNameLocally() + " class=\"" + widget.cssClass + "\"></" + getTagNameLocally() + ">";
+            default -> null;
+        };
+    }
+
+    @Override
+    public String getText() {
+        driver.command("getText");
+        return switch (kind) {
+            case RENDERED -> {
+                List<FakeSelect2Driver.Option> selected = widget.selected();
+                if (widget.multiple) {
+                    yield selected.isEmpty() ? "" : "×" + selected.get(0).text;
+                }
+                yield selected.isEmpty() ? "Select an option" : selected.get(0).text;
+            }
+            case RESULT -> option.text;
+            case CHOICE -> "×" + option.text;
+            case CHOICE_REMOVE, CLEAR -> "×";
+            default -> "";
+        };
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        driver.command("findElements");
+        return new ArrayList<>(driver.locate(this, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        driver.command("findElement");
+        List<FakeWebElement> elements = driver.locate(this, by);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("No element found by " + by);
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public boolean isSelected() {
+        driver.command("isSelected");
+        return option != null && option.selected;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        driver.command("isEnabled");
+        return true;
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        driver.command("isDisplayed");
+        return kind != Kind.DROPDOWN || widget.open;
+    }
+
+    @Override
+    public Point getLocation() {
+        driver.command("getLocation");
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        driver.command("getSize");
+        return new Dimension(200, 30);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        driver.command("getRect");
+        return new Rectangle(0, 0, 30, 200);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        driver.command("getCssValue");
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WebDriver getWrappedDriver() {
+        return driver;
+    }
+
+    private String containerHtml() {
+        StringBuilder html = new StringBuilder("<span class=\"select2 select2-container\"><span class=\"select2-selection\">");
+        List<FakeSelect2Driver.Option> selected = widget.selected();
+        if (widget.multiple) {
+            html.append("<ul class=\"select2-selection__rendered\">");
+            for (FakeSelect2Driver.Option choice : selected) {
+                html.append("<li class=\"select2-selection__choice\" title=\"").append(choice.text).append("\">")
+                        .append("<span class=\"select2-selection__choice__remove\">×</span>").append(choice.text).append("</li>");
+            }
+            html.append("</ul>");
+        } else {
+            html.append("<span class=\"select2-selection__rendered\">")
+                    .append(selected.isEmpty() ? "Select an option" : selected.get(0).text).append("</span>");
+        }
+        return html.append("</span></span>").toString();
+    }
+
+    private String dropdownHtml() {
+        StringBuilder html = new StringBuilder("<span class=\"select2-dropdown\"><span class=\"select2-results\"><ul>");
+        for (FakeWebElement result : widget.results()) {
+            html.append("<li class=\"select2-results__option\" id=\"select2-").append(widget.cssClass).append("-result-ab12-")
+                    .append(result.option.value).append("\" aria-selected=\"").append(result.option.selected).append("\">")
+                    .append(result.option.text).append("</li>");
+        }
+        return html.append("</ul></span></span>").toString();
+    }
+
+    private String getTagNameLocally() {
+        return kind == Kind.SELECT ? "select" : "span";
+    }
+}
@@ -0,0 +1,173 @@
+package io.eotsevych.select2;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the hot Select2 operations against {@link FakeSelect2Driver}.
+ * Besides the time per operation, every benchmark reports the number of WebDriver commands it has issued
+ * in the {@code commands} counter, so that regressions in round trips are visible without a browser.
+ * <p>
+ * Run with {@code mvn -Pbenchmark integration-test}, select benchmarks with {@code -Djmh.includes=<regexp>}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Select2Benchmark {
+
+    @Param({"0", "100"})
+    public long commandLatencyMicros;
+
+    @Param({"6", "500"})
+    public int optionCount;
+
+    private FakeSelect2Driver driver;
+    private Select2 singleSelect;
+    private Select2 singleSelectScript;
+    private Select2 multiSelect;
+    private Select2 multiSelectPrefix;
+    private Select2 predefinedSelect;
+    private Select2 predefinedSelectJsoup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = FakeSelect2Driver.indexPage(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(commandLatencyMicros)), optionCount);
+        singleSelect = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        singleSelectScript = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        singleSelectScript.setInteractionStrategy(InteractionStrategy.SCRIPT);
+        multiSelect = new Select2(driver.findElement(By.cssSelector(".multiple-select-remain-open")));
+        multiSelectPrefix = new Select2(driver.findElement(By.cssSelector(".multiple-select-remain-open")));
+        multiSelectPrefix.setSearchMode(SearchMode.PREFIX);
+        predefinedSelect = new Select2(driver.findElement(By.cssSelector(".multiple-select-predefined")));
+        predefinedSelectJsoup = new Select2(driver.findElement(By.cssSelector(".multiple-select-predefined")));
+        predefinedSelectJsoup.setReadStrategy(ReadStrategy.JSOUP);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetSelection() {
+        driver.getWidget("multiple-select-remain-open").reset();
+        FakeSelect2Driver.Widget predefined = driver.getWidget("multiple-select-predefined");
+        predefined.reset();
+        predefined.options.stream().skip(2).limit(4).forEach(option -> option.selected = true);
+    }
+
+    @Benchmark
+    public void selectByTextSingle(Commands commands) {
+        long before = driver.getCommandCount();
+        singleSelect.selectByText("Nevada");
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void selectByTextSingleScript(Commands commands) {
+        long before = driver.getCommandCount();
+        singleSelectScript.selectByText("Nevada");
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void selectByTextMulti(Commands commands) {
+        long before = driver.getCommandCount();
+        multiSelect.selectByText(List.of("Alaska", "Nevada", "Washington"));
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void selectByTextMultiPrefix(Commands commands) {
+        long before = driver.getCommandCount();
+        multiSelectPrefix.selectByText(List.of("Alaska", "Nevada", "Washington"));
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void selectByValueMulti(Commands commands) {
+        long before = driver.getCommandCount();
+        multiSelect.selectByValue("AK", "NV", "WA");
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void getOptions(Commands commands, Blackhole blackhole) {
+        long before = driver.getCommandCount();
+        blackhole.consume(singleSelect.getOptions());
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void getOptionsUncached(Commands commands, Blackhole blackhole) {
+        singleSelect.invalidateOptionCache();
+        long before = driver.getCommandCount();
+        blackhole.consume(singleSelect.getOptions());
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void removeAllSelectedOptions(Commands commands) {
+        long before = driver.getCommandCount();
+        predefinedSelect.removeAllSelectedOptions();
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void getMultiSelectedOptionsText(Commands commands, Blackhole blackhole) {
+        long before = driver.getCommandCount();
+        blackhole.consume(predefinedSelect.getMultiSelectedOptionsText());
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void getMultiSelectedOptionsTextJsoup(Commands commands, Blackhole blackhole) {
+        long before = driver.getCommandCount();
+        blackhole.consume(predefinedSelectJsoup.getMultiSelectedOptionsText());
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    @Benchmark
+    public void isOptionPresentByText(Commands commands, Blackhole blackhole) {
+        long before = driver.getCommandCount();
+        blackhole.consume(singleSelect.isOptionPresentByText("Oregon"));
+        commands.record(driver.getCommandCount() - before);
+    }
+
+    /**
+     * WebDriver commands issued by a benchmark, reported next to its timing.
+     * {@code commands / operations} is the number of round trips per operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Commands {
+        public long commands;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            commands = 0;
+            operations = 0;
+        }
+
+        void record(long issued) {
+            commands += issued;
+            operations++;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Interaction strategy choosing among candidate strategies per interaction from their measured latency and
+ * success rate. Use one instance per widget, e.g. {@code select2.setInteractionStrategy(new AdaptiveInteractionStrategy())},
+ * so that a widget on which keyboard or script interactions are unsafe falls back to the mouse without
+ * slowing down the others.
+ * <p>
+ * Every candidate is first tried a few times in the given order, then the candidate with the lowest
+ * moving average latency divided by its success rate is used. An interaction fails when the candidate throws
+ * a {@link WebDriverException} or the caller reports a {@link #verificationFailed failed verification};
+ * a thrown failure is retried once with the last candidate, which should be the safest one.
+ */
+public class AdaptiveInteractionStrategy implements InteractionStrategy {
+    private static final int EXPLORATION_CALLS = 3;
+    private static final double MIN_SUCCESS_RATE = 0.9;
+    private static final double ALPHA = 0.3;
+
+    private final List<InteractionStrategy> candidates;
+    private final Map<Interaction, Map<InteractionStrategy, Stats>> stats = new EnumMap<>(Interaction.class);
+    private final Map<Interaction, InteractionStrategy> lastUsed = new EnumMap<>(Interaction.class);
+
+    /**
+     * Create strategy choosing among {@link #SCRIPT}, {@link #KEYBOARD} and {@link #MOUSE}.
+     */
+    public AdaptiveInteractionStrategy() {
+        this(SCRIPT, KEYBOARD, MOUSE);
+    }
+
+    /**
+     * Create strategy choosing among the candidates.
+     *
+     * @param candidates - strategies in the order of exploration, the last one is used to retry failed interactions
+     */
+    public AdaptiveInteractionStrategy(InteractionStrategy... candidates) {
+        if (candidates.length == 0) {
+            throw new IllegalArgumentException("At least one candidate strategy is required");
+        }
+        this.candidates = List.of(candidates);
+        for (Interaction interaction : Interaction.values()) {
+            Map<InteractionStrategy, Stats> byCandidate = new LinkedHashMap<>();
+            for (InteractionStrategy candidate : candidates) {
+                byCandidate.put(candidate, new Stats());
+            }
+            stats.put(interaction, byCandidate);
+        }
+    }
+
+    @Override
+    public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        perform(Interaction.OPEN, strategy -> strategy.open(driver, selectElement, containerElement));
+    }
+
+    @Override
+    public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        perform(Interaction.CLOSE, strategy -> strategy.close(driver, selectElement, containerElement));
+    }
+
+    @Override
+    public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+        perform(Interaction.CHOOSE, strategy -> strategy.choose(driver, selectElement, containerElement, resultIndex));
+    }
+
+    @Override
+    public synchronized void verificationFailed(Interaction interaction) {
+        InteractionStrategy strategy = lastUsed.get(interaction);
+        if (strategy != null) {
+            Stats candidateStats = stats.get(interaction).get(strategy);
+            if (candidateStats.successes > 0) {
+                candidateStats.successes--;
+            }
+            candidateStats.failures++;
+            strategy.verificationFailed(interaction);
+        }
+    }
+
+    /**
+     * Get the candidate used for the next interaction.
+     *
+     * @param interaction - interaction type
+     * @return preferred candidate
+     */
+    public synchronized InteractionStrategy getPreferred(Interaction interaction) {
+        Map<InteractionStrategy, Stats> byCandidate = stats.get(interaction);
+        InteractionStrategy preferred = null;
+        double bestScore = Double.MAX_VALUE;
+        for (InteractionStrategy candidate : candidates) {
+            Stats candidateStats = byCandidate.get(candidate);
+            if (candidateStats.successes < EXPLORATION_CALLS && candidateStats.failures == 0) {
+                return candidate;
+            }
+            double successRate = candidateStats.successRate();
+            if (successRate >= MIN_SUCCESS_RATE && candidateStats.averageNanos / successRate < bestScore) {
+                bestScore = candidateStats.averageNanos / successRate;
+                preferred = candidate;
+            }
+        }
+        return preferred == null ? candidates.get(candidates.size() - 1) : preferred;
+    }
+
+    /**
+     * Get the moving average latency of a candidate.
+     *
+     * @param interaction - interaction type
+     * @param candidate   - one of the candidates
+     * @return average latency of successful interactions, or {@code null} if the candidate has not succeeded yet
+     */
+    public synchronized Duration getAverageLatency(Interaction interaction, InteractionStrategy candidate) {
+        Stats candidateStats = stats.get(interaction).get(candidate);
+        return candidateStats == null || !candidateStats.measured
+                ? null
+                : Duration.ofNanos((long) candidateStats.averageNanos);
+    }
+
+    /**
+     * Get the share of successful interactions of a candidate.
+     *
+     * @param interaction - interaction type
+     * @param candidate   - one of the candidates
+     * @return success rate from {@code 0.0} to {@code 1.0}, {@code 1.0} if the candidate was not used yet
+     */
+    public synchronized double getSuccessRate(Interaction interaction, InteractionStrategy candidate) {
+        Stats candidateStats = stats.get(interaction).get(candidate);
+        return candidateStats == null ? 1.0 : candidateStats.successRate();
+    }
+
+    private void perform(Interaction interaction, Consumer<InteractionStrategy> call) {
+        InteractionStrategy strategy = getPreferred(interaction);
+        try {
+            run(interaction, strategy, call);
+        } catch (WebDriverException ex) {
+            InteractionStrategy fallback = candidates.get(candidates.size() - 1);
+            if (fallback == strategy) {
+                throw ex;
+            }
+            run(interaction, fallback, call);
+        }
+    }
+
+    private void run(Interaction interaction, InteractionStrategy strategy, Consumer<InteractionStrategy> call) {
+        long start = System.nanoTime();
+        try {
+            call.accept(strategy);
+        } catch (WebDriverException ex) {
+            record(interaction, strategy, 0, true);
+            throw ex;
+        }
+        record(interaction, strategy, System.nanoTime() - start, false);
+    }
+
+    private synchronized void record(Interaction interaction, InteractionStrategy strategy, long nanos, boolean failed) {
+        Stats candidateStats = stats.get(interaction).get(strategy);
+        if (failed) {
+            candidateStats.failures++;
+        } else {
+            candidateStats.averageNanos = candidateStats.measured
+                    ? candidateStats.averageNanos + ALPHA * (nanos - candidateStats.averageNanos)
+                    : nanos;
+            candidateStats.measured = true;
+            candidateStats.successes++;
+        }
+        lastUsed.put(interaction, strategy);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "adaptive" + candidates + " preferring " + getPreferred(Interaction.OPEN) + "/"
+                + getPreferred(Interaction.CLOSE) + "/" + getPreferred(Interaction.CHOOSE);
+    }
+
+    private static final class Stats {
+        private long successes;
+        private long failures;
+        private double averageNanos;
+        private boolean measured;
+
+        private double successRate() {
+            long calls = successes + failures;
+            return calls == 0 ? 1.0 : (double) successes / calls;
+        }
+    }
+}
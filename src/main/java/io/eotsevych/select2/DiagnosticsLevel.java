@@ -0,0 +1,22 @@
+package io.eotsevych.select2;
+
+/**
+ * Amount of diagnostics captured by {@link Select2Diagnostics} when a Select2 operation fails.
+ */
+public enum DiagnosticsLevel {
+    /**
+     * Capture nothing: failures issue no additional WebDriver commands, and messages contain only the data
+     * already known when the failure is detected.
+     */
+    OFF,
+    /**
+     * Capture a {@link Select2Snapshot} with the option count, the first option texts, the selection,
+     * the dropdown state and the truncated HTML around the {@code <select>} in a single script call.
+     */
+    SUMMARY,
+    /**
+     * Like {@link #SUMMARY}, but with all option texts, the untruncated HTML and the HTML of the opened dropdown.
+     * Messages are still capped by {@link Select2Diagnostics#getMaxMessageLength()}.
+     */
+    FULL
+}
@@ -1,6 +1,11 @@
 package io.eotsevych.select2;
 
+import io.eotsevych.select2.exceptions.OptionIsNotSelectedException;
+import io.eotsevych.select2.exceptions.Select2NoOptionPresentException;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Interface representing a component that interacts with Select2 UI elements.
@@ -58,6 +63,36 @@ public interface ISelect2 {
      */
     void selectByIndex(int index, boolean... isOpened);
 
+    /**
+     * Select options by value of the underlying {@code <select>} without opening the dropdown.
+     * All options are selected with a single change notification.
+     * The default implementation resolves the values through {@link #getOptionSnapshot(boolean...)}
+     * and selects the options by text.
+     *
+     * @param values - option values, a single value for a single select
+     * @throws Select2NoOptionPresentException if no option has one of the values
+     * @throws OptionIsNotSelectedException   if one of the values belongs to a disabled option
+     * @throws IllegalArgumentException        if several values are given for a single select
+     */
+    default void selectByValue(String... values) {
+        selectByText(textsByValue(getOptionSnapshot(), values));
+    }
+
+    /**
+     * Deselect options by value of the underlying {@code <select>} without opening the dropdown.
+     * All options are deselected with a single change notification.
+     * The default implementation resolves the values through {@link #getOptionSnapshot(boolean...)}
+     * and removes the selected options by text.
+     *
+     * @param values - option values
+     * @throws Select2NoOptionPresentException if no option has one of the values
+     * @throws IllegalArgumentException        if the element is a single select, use {@link #removeSelectedOption()},
+     *                                         or if one of the values belongs to a disabled option
+     */
+    default void deselectByValue(String... values) {
+        removeSelectedOptions(textsByValue(getOptionSnapshot(), values));
+    }
+
     /**
      * Verify is option from Select2 UI element disabled by text
      *
@@ -103,24 +138,47 @@ public interface ISelect2 {
     /**
      * Get selected option text from single Select
      *
-     * @param <T> The type parameter for the selected option text.
      * @return selected option text
      */
-    <T> T getSelectedOptionText();
+    String getSelectedOptionText();
 
     /**
      * Get all options text from single Select
      *
-     * @param <T> The type parameter for the options text.
      * @return A list of options text.
      */
-    <T> List<T> getOptions();
+    List<String> getOptions();
+
+    /**
+     * Get text, value, disabled and selected state of all options, read in a single call.
+     * The default implementation wraps the texts of {@link #getOptions()}, without values and states.
+     *
+     * @param isOpened - Optional parameter indicating whether the dropdown is already open
+     * @return A list of option snapshots in rendering order.
+     */
+    default List<Select2Option> getOptionSnapshot(boolean... isOpened) {
+        List<Select2Option> snapshot = new ArrayList<>();
+        for (String text : getOptions()) {
+            snapshot.add(new Select2Option(snapshot.size(), null, text, false, false, null));
+        }
+        return snapshot;
+    }
 
     /**
      * Get List of selected values text from multi Select
      *
-     * @param <T> The type parameter for the options text.
      * @return A list selected options text.
      */
-    <T> List<T> getMultiSelectedOptionsText();
+    List<String> getMultiSelectedOptionsText();
+
+    private static List<String> textsByValue(List<Select2Option> options, String... values) {
+        List<String> texts = new ArrayList<>();
+        for (String value : values) {
+            Select2Option option = options.stream().filter(candidate -> value.equals(candidate.value())).findFirst()
+                    .orElseThrow(() -> new Select2NoOptionPresentException(value,
+                            options.stream().map(Select2Option::value).filter(Objects::nonNull).toList()));
+            texts.add(option.text());
+        }
+        return texts;
+    }
 }
@@ -0,0 +1,105 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Locale;
+
+/**
+ * Way {@link Select2} opens and closes the dropdown and chooses results.
+ * <p>
+ * {@link #MOUSE} clicks like a user does and works with any page. {@link #KEYBOARD} sends keystrokes to the focused
+ * Select2 element, and {@link #SCRIPT} calls the Select2 API of the page, falling back to {@link #MOUSE} when the page
+ * has no Select2 instance; both skip the geometry query and the pointer actions of every click.
+ * {@link AdaptiveInteractionStrategy} picks one of them per widget from the measured latency and success rate.
+ */
+public interface InteractionStrategy {
+    /**
+     * Click the container and the results with pointer actions.
+     */
+    InteractionStrategy MOUSE = new MouseInteraction();
+    /**
+     * Open with {@code Enter}, close with {@code Escape} and choose results with arrow keys and {@code Enter}.
+     */
+    InteractionStrategy KEYBOARD = new KeyboardInteraction();
+    /**
+     * Open and close through {@code $(select).select2('open'|'close')} and choose results by dispatching
+     * the event Select2 listens to, with one script call per interaction.
+     */
+    InteractionStrategy SCRIPT = new ScriptInteraction();
+
+    /**
+     * Interaction performed by a strategy.
+     */
+    enum Interaction {
+        /**
+         * Opening the dropdown.
+         */
+        OPEN,
+        /**
+         * Closing the dropdown.
+         */
+        CLOSE,
+        /**
+         * Choosing a rendered result.
+         */
+        CHOOSE
+    }
+
+    /**
+     * Open the dropdown. The caller waits for the dropdown to appear.
+     *
+     * @param driver           - driver owning the elements
+     * @param selectElement    - {@code <select>} element
+     * @param containerElement - Select2 container next to the {@code <select>}
+     */
+    void open(WebDriver driver, WebElement selectElement, WebElement containerElement);
+
+    /**
+     * Close the opened dropdown.
+     *
+     * @param driver           - driver owning the elements
+     * @param selectElement    - {@code <select>} element
+     * @param containerElement - Select2 container next to the {@code <select>}
+     */
+    void close(WebDriver driver, WebElement selectElement, WebElement containerElement);
+
+    /**
+     * Choose a result of the opened dropdown.
+     *
+     * @param driver           - driver owning the elements
+     * @param selectElement    - {@code <select>} element
+     * @param containerElement - Select2 container next to the {@code <select>}
+     * @param resultIndex      - position of the result among rendered results, as in {@link Select2Option#index()}
+     * @throws org.openqa.selenium.NoSuchElementException if there is no result at the position
+     */
+    void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex);
+
+    /**
+     * Notify the strategy that the caller could not verify the outcome of its last interaction,
+     * e.g. the dropdown did not appear after {@link #open}, the chosen option is not selected after {@link #choose}
+     * or the dropdown is still open after {@link #close}.
+     *
+     * @param interaction - interaction which failed
+     */
+    default void verificationFailed(Interaction interaction) {
+    }
+
+    /**
+     * Create the strategy configured by the {@code select2.interaction} system property: {@code mouse} (default),
+     * {@code keyboard}, {@code script} or {@code adaptive}. An adaptive strategy is created per call,
+     * so that every widget learns on its own.
+     *
+     * @return configured strategy
+     */
+    static InteractionStrategy fromConfiguration() {
+        String name = System.getProperty("select2.interaction", "mouse").trim();
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "mouse" -> MOUSE;
+            case "keyboard" -> KEYBOARD;
+            case "script" -> SCRIPT;
+            case "adaptive" -> new AdaptiveInteractionStrategy();
+            default -> throw new IllegalArgumentException("Unknown select2.interaction strategy: " + name);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+
+/**
+ * {@link InteractionStrategy#KEYBOARD}: resolves the element receiving keystrokes with one script call and sends
+ * all keys of the interaction with one {@code sendKeys}, e.g. {@code ArrowDown ArrowDown Enter} to choose
+ * the second result after the highlighted one.
+ */
+final class KeyboardInteraction implements InteractionStrategy {
+
+    @Override
+    public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        target(plan(driver, selectElement, containerElement, -1)).sendKeys(Keys.ENTER);
+    }
+
+    @Override
+    public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        target(plan(driver, selectElement, containerElement, -1)).sendKeys(Keys.ESCAPE);
+    }
+
+    @Override
+    public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+        Map<String, Object> plan = plan(driver, selectElement, containerElement, resultIndex);
+        Long moves = (Long) plan.get("moves");
+        if (moves == null) {
+            throw new NoSuchElementException("No selectable Select2 result at position " + resultIndex);
+        }
+        StringBuilder keys = new StringBuilder();
+        for (long i = 0; i < Math.abs(moves); i++) {
+            keys.append(moves > 0 ? Keys.ARROW_DOWN : Keys.ARROW_UP);
+        }
+        keys.append(Keys.ENTER);
+        target(plan).sendKeys(keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> plan(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+        return (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(Select2Scripts.KEYBOARD_TARGET, selectElement, containerElement, resultIndex);
+    }
+
+    private static WebElement target(Map<String, Object> plan) {
+        WebElement target = (WebElement) plan.get("target");
+        if (target == null) {
+            throw new NoSuchElementException("No focusable Select2 selection");
+        }
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "keyboard";
+    }
+}
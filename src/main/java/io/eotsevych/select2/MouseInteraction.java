@@ -0,0 +1,42 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+/**
+ * {@link InteractionStrategy#MOUSE}: clicks at the top of the container, left of the clear and remove buttons,
+ * and clicks the result element.
+ */
+final class MouseInteraction implements InteractionStrategy {
+
+    @Override
+    public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        click(driver, containerElement);
+    }
+
+    @Override
+    public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        click(driver, containerElement);
+    }
+
+    @Override
+    public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+        WebElement result = (WebElement) ((JavascriptExecutor) driver).executeScript(Select2Scripts.RESULT_ELEMENT, selectElement, resultIndex);
+        if (result == null) {
+            throw new NoSuchElementException("No Select2 result at position " + resultIndex);
+        }
+        result.click();
+    }
+
+    private static void click(WebDriver driver, WebElement containerElement) {
+        new Actions(driver).moveToElement(containerElement, containerElement.getRect().getWidth() / 2 - 1, 0).click().build().perform();
+    }
+
+    @Override
+    public String toString() {
+        return "mouse";
+    }
+}
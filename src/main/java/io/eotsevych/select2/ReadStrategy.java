@@ -0,0 +1,16 @@
+package io.eotsevych.select2;
+
+/**
+ * Strategy used by {@link Select2} to read the state of a Select2 element.
+ */
+public enum ReadStrategy {
+    /**
+     * Query WebElements of the page, one remote call per element read.
+     */
+    WEB_ELEMENT,
+    /**
+     * Fetch the {@code outerHTML} of the container or dropdown once and query it locally with jsoup,
+     * so that the number of remote calls doesn't depend on the number of options or selected choices.
+     */
+    JSOUP
+}
@@ -0,0 +1,46 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * {@link InteractionStrategy#SCRIPT}: one script call per interaction, falling back to {@link InteractionStrategy#MOUSE}
+ * when the page has no Select2 instance.
+ */
+final class ScriptInteraction implements InteractionStrategy {
+
+    @Override
+    public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        if (execute(driver, Select2Scripts.TOGGLE_DROPDOWN, selectElement, "open") == null) {
+            MOUSE.open(driver, selectElement, containerElement);
+        }
+    }
+
+    @Override
+    public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+        if (execute(driver, Select2Scripts.TOGGLE_DROPDOWN, selectElement, "close") == null) {
+            MOUSE.close(driver, selectElement, containerElement);
+        }
+    }
+
+    @Override
+    public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+        Boolean chosen = execute(driver, Select2Scripts.CHOOSE_RESULT, selectElement, resultIndex);
+        if (chosen == null) {
+            MOUSE.choose(driver, selectElement, containerElement, resultIndex);
+        } else if (!chosen) {
+            throw new NoSuchElementException("No Select2 result at position " + resultIndex);
+        }
+    }
+
+    private static Boolean execute(WebDriver driver, String script, Object... args) {
+        return (Boolean) ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+
+    @Override
+    public String toString() {
+        return "script";
+    }
+}
@@ -0,0 +1,279 @@
+package io.eotsevych.select2;
+
+import io.eotsevych.select2.exceptions.OptionIsNotSelectedException;
+import io.eotsevych.select2.exceptions.Select2NoOptionPresentException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the ISelect2 interface that operates Select2 elements through the jQuery/Select2 API
+ * of the page instead of mouse and keyboard interactions.
+ * Each operation is performed with a single {@code executeScript} call and fires the same
+ * {@code select2:select}/{@code select2:unselect}/{@code change} events as a user interaction.
+ * When the page has no jQuery, or the requested option is not present in the underlying {@code <select>}
+ * (e.g. AJAX-backed or tags widgets), the operation falls back to the UI path of {@link Select2}.
+ */
+public class ScriptSelect2 implements ISelect2 {
+
+    private final Select2 uiSelect2;
+    private final JavascriptExecutor executor;
+
+    /**
+     * Constructs a ScriptSelect2 instance for interacting with a Select2 element.
+     *
+     * @param selectElement The WebElement representing the Select2 element.
+     * @param webDriverWait The WebDriverWait to be used for waiting conditions of the UI fallback.
+     */
+    public ScriptSelect2(WebElement selectElement, WebDriverWait webDriverWait) {
+        this(new Select2(selectElement, webDriverWait));
+    }
+
+    /**
+     * Constructs a ScriptSelect2 instance for interacting with a Select2 element.
+     *
+     * @param selectElement The WebElement representing the Select2 element.
+     */
+    public ScriptSelect2(WebElement selectElement) {
+        this(new Select2(selectElement));
+    }
+
+    /**
+     * Constructs a ScriptSelect2 instance on top of an existing Select2 instance used as the UI fallback.
+     *
+     * @param uiSelect2 The Select2 instance used when the script path is not applicable.
+     */
+    public ScriptSelect2(Select2 uiSelect2) {
+        this.uiSelect2 = uiSelect2;
+        this.executor = (JavascriptExecutor) uiSelect2.getDriver();
+    }
+
+    @Override
+    public void selectByText(String text, boolean isOpened, boolean closeOnSelect) {
+        Map<String, Object> result = execute(Select2Scripts.SELECT_BY_TEXT, List.of(text));
+        rejectDisabled(result);
+        if (result == null || !asList(result.get("missing")).isEmpty()) {
+            uiSelect2.selectByText(text, isOpened, closeOnSelect);
+        }
+    }
+
+    @Override
+    public void selectByText(String text, boolean... isOpened) {
+        selectByText(text, isOpened.length > 0 && isOpened[0], false);
+    }
+
+    @Override
+    public void selectByIndex(int[] index, boolean... isOpened) {
+        List<Integer> indexes = Arrays.stream(index).map(i -> i - 1).boxed().toList();
+        if (!selectByIndexes(indexes)) {
+            uiSelect2.selectByIndex(index, isOpened);
+        }
+    }
+
+    @Override
+    public void selectByText(List<String> text, boolean... isOpened) {
+        selectByText(text, isOpened.length > 0 && isOpened[0], false);
+    }
+
+    @Override
+    public void selectByText(List<String> text, boolean isOpened, boolean closeOnSelect) {
+        Map<String, Object> result = execute(Select2Scripts.SELECT_BY_TEXT, text);
+        if (result == null) {
+            uiSelect2.selectByText(text, isOpened, closeOnSelect);
+            return;
+        }
+        rejectDisabled(result);
+        List<String> missing = asList(result.get("missing"));
+        if (!missing.isEmpty()) {
+            uiSelect2.selectByText(missing, isOpened, closeOnSelect);
+        }
+    }
+
+    @Override
+    public void selectByIndex(int index, boolean... isOpened) {
+        if (!selectByIndexes(List.of(index))) {
+            uiSelect2.selectByIndex(index, isOpened);
+        }
+    }
+
+    @Override
+    public void selectByValue(String... values) {
+        uiSelect2.selectByValue(values);
+    }
+
+    @Override
+    public void deselectByValue(String... values) {
+        uiSelect2.deselectByValue(values);
+    }
+
+    @Override
+    public boolean isOptionDisabledByText(String text, boolean... isOpened) {
+        Map<String, Object> result = execute(Select2Scripts.FIND_OPTION, text);
+        if (result == null || (Boolean) result.get("ajax")) {
+            return uiSelect2.isOptionDisabledByText(text, isOpened);
+        }
+        if (!(Boolean) result.get("found")) {
+            throw new Select2NoOptionPresentException(text, asList(result.get("texts")), List.of(), snapshot());
+        }
+        return (Boolean) result.get("disabled");
+    }
+
+    @Override
+    public boolean isOptionPresentByText(String text, boolean... isOpened) {
+        Map<String, Object> result = execute(Select2Scripts.FIND_OPTION, text);
+        if (result == null || (Boolean) result.get("ajax")) {
+            return uiSelect2.isOptionPresentByText(text, isOpened);
+        }
+        return (Boolean) result.get("found");
+    }
+
+    @Override
+    public void removeSelectedOption() {
+        if (execute(Select2Scripts.UNSELECT_BY_TEXT, (Object) null) == null) {
+            uiSelect2.removeSelectedOption();
+        }
+    }
+
+    @Override
+    public void removeSelectedOption(String text) {
+        Map<String, Object> result = execute(Select2Scripts.UNSELECT_BY_TEXT, List.of(text));
+        if (result == null) {
+            uiSelect2.removeSelectedOption(text);
+        } else if (!asList(result.get("missing")).isEmpty()) {
+            throw new OptionIsNotSelectedException(text);
+        }
+    }
+
+    @Override
+    public void removeAllSelectedOptions() {
+        if (execute(Select2Scripts.UNSELECT_BY_TEXT, (Object) null) == null) {
+            uiSelect2.removeAllSelectedOptions();
+        }
+    }
+
+    @Override
+    public void removeSelectedOptions(List<String> textList) {
+        Map<String, Object> result = execute(Select2Scripts.UNSELECT_BY_TEXT, textList);
+        if (result == null) {
+            uiSelect2.removeSelectedOptions(textList);
+            return;
+        }
+        List<String> missing = asList(result.get("missing"));
+        if (!missing.isEmpty()) {
+            throw new Select2NoOptionPresentException(missing.get(0), asList(result.get("texts")), List.of(), snapshot());
+        }
+    }
+
+    @Override
+    public String getSelectedOptionText() {
+        Map<String, Object> result = execute(Select2Scripts.SELECTED_TEXTS);
+        if (result == null) {
+            return uiSelect2.getSelectedOptionText();
+        }
+        List<String> selected = asList(result.get("selected"));
+        return selected.isEmpty() ? (String) result.get("placeholder") : selected.get(0);
+    }
+
+    @Override
+    public List<String> getOptions() {
+        Object result = executeScript(Select2Scripts.OPTION_TEXTS);
+        if (result == null) {
+            return uiSelect2.getOptions();
+        }
+        return asList(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Select2Option> getOptionSnapshot(boolean... isOpened) {
+        List<Map<String, Object>> rawOptions = (List<Map<String, Object>>) executeScript(Select2Scripts.NATIVE_OPTION_SNAPSHOT);
+        if (rawOptions == null) {
+            return uiSelect2.getOptionSnapshot(isOpened);
+        }
+        List<Select2Option> optionList = new ArrayList<>();
+        for (Map<String, Object> rawOption : rawOptions) {
+            optionList.add(Select2Option.fromScriptResult(optionList.size(), rawOption));
+        }
+        return optionList;
+    }
+
+    @Override
+    public List<String> getMultiSelectedOptionsText() {
+        Map<String, Object> result = execute(Select2Scripts.SELECTED_TEXTS);
+        if (result == null) {
+            return uiSelect2.getMultiSelectedOptionsText();
+        }
+        return asList(result.get("selected"));
+    }
+
+    /**
+     * Select options by position among rendered results, like the UI path does.
+     *
+     * @return {@code true} if all options were selected, {@code false} if the UI path has to handle the indexes
+     * @throws OptionIsNotSelectedException if an index points to a disabled option
+     */
+    private boolean selectByIndexes(List<Integer> indexes) {
+        Map<String, Object> result = execute(Select2Scripts.SELECT_BY_INDEX, indexes);
+        if (result != null && result.get("disabled") != null) {
+            throw new OptionIsNotSelectedException((String) result.get("disabled"));
+        }
+        return result != null && Boolean.TRUE.equals(result.get("applied"));
+    }
+
+    /**
+     * Fail like the UI path does when the script found disabled options, which it leaves unselected.
+     */
+    private static void rejectDisabled(Map<String, Object> result) {
+        List<String> disabled = result == null ? List.of() : asList(result.get("disabled"));
+        if (!disabled.isEmpty()) {
+            throw new OptionIsNotSelectedException(disabled.get(0));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> execute(String script, Object... args) {
+        return (Map<String, Object>) executeScript(script, args);
+    }
+
+    /**
+     * Execute the script with the {@code <select>} element as the first argument. When the element of a
+     * locator-based Select2 has gone stale, it is resolved again and the script is executed once more.
+     */
+    private Object executeScript(String script, Object... args) {
+        try {
+            return executor.executeScript(script, scriptArgs(args));
+        } catch (StaleElementReferenceException ex) {
+            if (!uiSelect2.refreshElements()) {
+                throw ex;
+            }
+            return executor.executeScript(script, scriptArgs(args));
+        }
+    }
+
+    private Object[] scriptArgs(Object... args) {
+        Object[] scriptArgs = new Object[args.length + 1];
+        scriptArgs[0] = uiSelect2.getSelectElement();
+        System.arraycopy(args, 0, scriptArgs, 1, args.length);
+        return scriptArgs;
+    }
+
+    private Select2Snapshot snapshot() {
+        return Select2Diagnostics.capture(getDriver(), uiSelect2.getSelectElement());
+    }
+
+    WebDriver getDriver() {
+        return uiSelect2.getDriver();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> asList(Object value) {
+        return value == null ? List.of() : (List<String>) value;
+    }
+}
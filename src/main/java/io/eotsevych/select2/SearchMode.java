@@ -0,0 +1,17 @@
+package io.eotsevych.select2;
+
+/**
+ * Way {@link Select2} types search terms into the Select2 search field.
+ */
+public enum SearchMode {
+    /**
+     * Clear the field and send the full option text as keystrokes. Every keystroke may trigger a results fetch.
+     */
+    KEYSTROKES,
+    /**
+     * Set the shortest prefix which makes the option unique among static options, or the full text for
+     * AJAX-backed elements, with a single script call and a single {@code input} event, so that each search
+     * triggers exactly one results fetch. Falls back to {@link #KEYSTROKES} when the page has no Select2 instance.
+     */
+    PREFIX
+}
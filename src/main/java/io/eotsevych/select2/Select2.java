@@ -5,8 +5,6 @@ import io.eotsevych.select2.exceptions.Select2DropdownNotOpenedException;
 import io.eotsevych.select2.exceptions.Select2NoOptionPresentException;
 import io.eotsevych.select2.exceptions.UnexpectedSelect2StructureException;
 import org.openqa.selenium.*;
-import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.UnexpectedTagNameException;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -14,8 +12,18 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of the ISelect2 interface providing methods to interact with Select2 UI elements.
@@ -29,7 +37,7 @@ public class Select2 implements ISelect2 {
     public static final String SELECT_2_RESULTS_LI = ".select2-results li";
 
     /**
-     * XPath locator for Select2 dropdown.
+     * XPath locator for Select2 dropdown, used when the id of the element's results list cannot be resolved.
      */
     public static final String SELECT_2_DROPDOWN_LOCATOR = "//span[contains(@class, 'select2-dropdown')]";
 
@@ -37,11 +45,22 @@ public class Select2 implements ISelect2 {
      * By locator for Select2 search field.
      */
     public static final By SELECT_2_SEARCH_FIELD_LOCATOR = By.cssSelector("input.select2-search__field");
+    private static final By DROPDOWN_SEARCH_FIELD_LOCATOR = By.cssSelector(".select2-search:not(.select2-search--hide) input.select2-search__field");
+    private static final Duration RESULTS_TIMEOUT = Duration.of(5, ChronoUnit.SECONDS);
+    private static final int SUGGESTIONS = 3;
     private final WebDriverWait webDriverWait;
-    private WebElement selectElement;
-    private WebElement containerElement;
-    private WebElement select2DropDownElement = null;
-    private WebDriver driver;
+    private final By locator;
+    private final WebDriver driver;
+    private volatile Elements elements;
+    private final Select2OptionCache optionCache = new Select2OptionCache();
+    private volatile ReadStrategy readStrategy = ReadStrategy.WEB_ELEMENT;
+    private volatile SearchMode searchMode = SearchMode.KEYSTROKES;
+    private volatile InteractionStrategy interactionStrategy = InteractionStrategy.fromConfiguration();
+    private volatile By dropdownLocator;
+    private volatile Select2Profile profile;
+    private volatile boolean profileDetected;
+    private volatile long lastSearchFetchCount;
+    private final AtomicLong searchFetchCount = new AtomicLong();
 
     /**
      * Constructs a Select2 instance for interacting with a Select2 element.
@@ -50,52 +69,97 @@ public class Select2 implements ISelect2 {
      * @param webDriverWait The WebDriverWait to be used for waiting conditions.
      */
     public Select2(WebElement selectElement, WebDriverWait webDriverWait) {
-        init(selectElement);
-        this.webDriverWait = webDriverWait;
+        this(requireSelect(selectElement), findContainer(selectElement), driverOf(selectElement), webDriverWait);
     }
 
     /**
      * Constructs a Select2 instance for interacting with a Select2 element.
+     * A new adaptive {@link Select2Wait} is created for every instance, use {@link Select2Factory} to share one per driver.
      *
      * @param selectElement The WebElement representing the Select2 element.
      */
     public Select2(WebElement selectElement) {
-        init(selectElement);
-        this.webDriverWait = new WebDriverWait(driver, Duration.of(5, ChronoUnit.SECONDS));
+        this(selectElement, new Select2Wait(driverOf(selectElement), Duration.of(5, ChronoUnit.SECONDS)));
     }
 
-    private void init(WebElement selectElement) {
+    /**
+     * Constructs a Select2 instance resolving the Select2 element lazily by the locator.
+     * The resolved elements are reused until a stale element is detected, then the element is resolved
+     * again: read-only operations are retried once, operations changing the selection resume from the first
+     * option which was not applied yet.
+     *
+     * @param locator       The locator of the {@code <select>} element.
+     * @param driver        The WebDriver used to resolve the element.
+     * @param webDriverWait The WebDriverWait to be used for waiting conditions.
+     */
+    public Select2(By locator, WebDriver driver, WebDriverWait webDriverWait) {
+        this.locator = locator;
+        this.driver = driver;
+        this.webDriverWait = webDriverWait;
+    }
+
+    /**
+     * Constructs a Select2 instance resolving the Select2 element lazily by the locator.
+     *
+     * @param locator The locator of the {@code <select>} element.
+     * @param driver  The WebDriver used to resolve the element.
+     */
+    public Select2(By locator, WebDriver driver) {
+        this(locator, driver, new Select2Wait(driver, Duration.of(5, ChronoUnit.SECONDS)));
+    }
+
+    /**
+     * Constructs a Select2 instance from already resolved elements, skipping structure validation.
+     *
+     * @param selectElement    The WebElement representing the Select2 element.
+     * @param containerElement The WebElement representing the Select2 container next to the select.
+     * @param driver           The WebDriver owning both elements.
+     * @param webDriverWait    The WebDriverWait to be used for waiting conditions.
+     */
+    Select2(WebElement selectElement, WebElement containerElement, WebDriver driver, WebDriverWait webDriverWait) {
+        this.locator = null;
+        this.elements = new Elements(selectElement, containerElement);
+        this.driver = driver;
+        this.webDriverWait = webDriverWait;
+    }
+
+    private static WebElement requireSelect(WebElement selectElement) {
         String tagName = selectElement.getTagName();
-        if ("select".equalsIgnoreCase(tagName)) {
-            this.selectElement = selectElement;
-        } else {
+        if (!"select".equalsIgnoreCase(tagName)) {
             throw new UnexpectedTagNameException("select", tagName);
         }
+        return selectElement;
+    }
+
+    private static WebElement findContainer(WebElement selectElement) {
         try {
-            this.containerElement = selectElement.findElement(By.xpath("./../span")); //./../span
+            return selectElement.findElement(By.xpath("./../span")); //./../span
         } catch (NoSuchElementException ex) {
-            throw new UnexpectedSelect2StructureException(selectElement);
+            throw new UnexpectedSelect2StructureException(Select2Diagnostics.capture(selectElement));
         }
-        driver = ((RemoteWebElement) selectElement).getWrappedDriver();
+    }
+
+    private static WebDriver driverOf(WebElement selectElement) {
+        return ((WrapsDriver) selectElement).getWrappedDriver();
     }
 
     @Override
     public void selectByIndex(int index, boolean... isOpened) {
-        if (!(isOpened.length > 0 && isOpened[0])) {
-            expandContainerElement();
-        }
-        getWebElementOptions().get(index).click();
+        resumeOnStale(progress -> {
+            expandContainerElement(isOpened.length > 0 && isOpened[0], progress);
+            chooseResult(index, null, null);
+        });
     }
 
     @Override
     public void selectByIndex(int[] index, boolean... isOpened) {
-        if (!(isOpened.length > 0 && isOpened[0])) {
-            expandContainerElement();
-        }
-        List<WebElement> optionList = getWebElementOptions();
-        for (int i : index) {
-            optionList.get(i - 1).click();
-        }
+        resumeOnStale(progress -> {
+            expandContainerElement(isOpened.length > 0 && isOpened[0], progress);
+            while (progress.applied < index.length) {
+                chooseResult(index[progress.applied] - 1, null, null);
+                progress.applied++;
+            }
+        });
     }
 
     @Override
@@ -105,50 +169,33 @@ public class Select2 implements ISelect2 {
 
     @Override
     public void selectByText(List<String> queryList, boolean isOpened, boolean closeOnSelect) {
-        boolean isDynamicData = false;
-        if (!isOpened) {
-            expandContainerElement();
-        }
-
-        WebElement select2Multiple = containerElement.findElement(By.cssSelector(".select2-selection--multiple"));
-        if (select2Multiple.getAttribute("aria-activedescendant") == null) {
-            isDynamicData = true;
-        }
-        for (String value : queryList) {
-            multiSearch(value, isDynamicData);
-            selectSingleOption(value);
-            if (closeOnSelect) expandContainerElement();
-        }
-        if (!isDynamicData) collapseContainerElement();
+        resumeOnStale(progress -> {
+            expandContainerElement(isOpened, progress);
+
+            Select2Profile openedProfile = openedProfile();
+            while (progress.applied < queryList.size()) {
+                String value = queryList.get(progress.applied);
+                search(value, openedProfile);
+                selectSingleOption(value);
+                progress.applied++;
+                if (closeOnSelect && openedProfile.closeOnSelect()) expandContainerElement();
+            }
+            if (!openedProfile.ajax()) collapseContainerElement();
+        });
     }
 
     @Override
     public void selectByText(String query, boolean isOpened, boolean closeOnSelect) {
-        boolean isDynamicData;
-        if (!isOpened) {
-            expandContainerElement();
-        }
-
-        WebElement selectSelection = containerElement.findElement(By.cssSelector(".select2-selection"));
-        isDynamicData = selectSelection.getAttribute("aria-activedescendant") == null;
-
-        if (!containerElement.findElements(By.cssSelector("[type='search']")).isEmpty()) {
-            if (selectSelection.getAttribute("class").contains("--single")) {
-                optionalSearch(query, isDynamicData);
-            } else {
-                multiSearch(query, isDynamicData);
-            }
-        } else {
-            List<WebElement> outsideSearch = driver.findElements(By.xpath("//span[contains(@class, 'select2-search') and not(contains(@class, 'select2-search--hide'))]/input[@class='select2-search__field']\n"));
-            if (outsideSearch.size() == 1) {
-                outsideSearch.get(0).sendKeys(query);
-                if (isDynamicData) {
-                    waitUntilLoadingEnd();
-                }
+        resumeOnStale(progress -> {
+            if (progress.applied == 0) {
+                expandContainerElement(isOpened, progress);
+                Select2Profile openedProfile = openedProfile();
+                search(query, openedProfile);
+                selectSingleOption(query);
+                progress.applied++;
             }
-        }
-        selectSingleOption(query);
-        if (closeOnSelect) expandContainerElement();
+            if (closeOnSelect && openedProfile().closeOnSelect() && !isExpanded()) expandContainerElement();
+        });
     }
 
     @Override
@@ -157,177 +204,813 @@ public class Select2 implements ISelect2 {
     }
 
     @Override
-    public boolean isOptionDisabledByText(String text, boolean... isOpened) {
-        if (!(isOpened.length > 0 && isOpened[0])) {
-            expandContainerElement();
-        }
+    public void selectByValue(String... values) {
+        setByValue(true, values);
+    }
 
-        List<WebElement> optionList = getWebElementOptions();
+    @Override
+    public void deselectByValue(String... values) {
+        setByValue(false, values);
+    }
+
+    @Override
+    public boolean isOptionDisabledByText(String text, boolean... isOpened) {
+        return retryOnStale(() -> {
+            if (!(isOpened.length > 0 && isOpened[0])) {
+                long version = readOptionVersion();
+                if (version != Select2OptionCache.UNCACHEABLE) {
+                    Select2OptionCache.Entry cached = getCachedOptions(version);
+                    Select2Option option = cached.find(text);
+                    if (option == null) {
+                        throw noOptionPresent(text, cached.index());
+                    }
+                    return option.disabled();
+                }
+                expandContainerElement();
+            }
 
-        return Boolean.parseBoolean(optionList.stream()
-                .filter(option -> option.getText().equalsIgnoreCase(text)).findFirst()
-                .orElseThrow(() -> new Select2NoOptionPresentException(text, optionList.stream()
-                        .map(WebElement::getText)
-                        .toList())).getAttribute("aria-disabled"));
+            Select2OptionIndex index = Select2OptionIndex.of(readOptionSnapshot());
+            Select2Option option = index.find(text);
+            if (option == null) {
+                throw noOptionPresent(text, index);
+            }
+            return option.disabled();
+        });
     }
 
     @Override
     public boolean isOptionPresentByText(String query, boolean... isOpened) {
-        boolean isDynamicData;
-        boolean result;
-
-        if (!(isOpened.length > 0 && isOpened[0])) {
-            expandContainerElement();
-        }
+        return retryOnStale(() -> {
+            boolean result;
 
-        WebElement selectSelection = containerElement.findElement(By.cssSelector(".select2-selection"));
-        isDynamicData = selectSelection.getAttribute("aria-activedescendant") == null;
+            if (!(isOpened.length > 0 && isOpened[0])) {
+                long version = readOptionVersion();
+                if (version != Select2OptionCache.UNCACHEABLE) {
+                    return getCachedOptions(version).find(query) != null;
+                }
+                expandContainerElement();
+            }
 
-        if (selectSelection.getAttribute("class").contains("--single")) {
-            optionalSearch(query, isDynamicData);
-        } else {
-            multiSearch(query, isDynamicData);
-        }
+            search(query, openedProfile());
 
-        result = getWebElementOptions().stream()
-                .anyMatch(option -> option.getText().equalsIgnoreCase(query));
-        collapseContainerElement();
-        return result;
+            result = Select2OptionIndex.of(readOptionSnapshot()).find(query) != null;
+            collapseContainerElement();
+            return result;
+        });
     }
 
     @Override
     public void removeSelectedOption() {
-        containerElement.findElement(By.cssSelector(".select2-selection__clear")).click();
-        forceCollapseContainerElement();
+        resumeOnStale(progress -> {
+            if (progress.applied == 0) {
+                containerElement().findElement(By.cssSelector(".select2-selection__clear")).click();
+                progress.applied++;
+            }
+            forceCollapseContainerElement();
+        });
     }
 
     @Override
     public void removeSelectedOption(String text) {
-        try {
-            containerElement.findElement(By.xpath("//span[text()='" + text + "']/preceding-sibling::button")).click();
-        } catch (NoSuchElementException ex) {
-            throw new OptionIsNotSelectedException(text);
-        }
-        forceCollapseContainerElement();
+        resumeOnStale(progress -> {
+            if (progress.applied == 0) {
+                try {
+                    containerElement().findElement(By.xpath(".//span[text()='" + text + "']/preceding-sibling::button")).click();
+                } catch (NoSuchElementException ex) {
+                    throw new OptionIsNotSelectedException(text);
+                }
+                progress.applied++;
+            }
+            forceCollapseContainerElement();
+        });
     }
 
     @Override
     public void removeAllSelectedOptions() {
-        List<WebElement> list = containerElement.findElements(By.xpath(".//li[@class='select2-selection__choice']"));
-        while (!list.isEmpty()) {
-            list.get(0).findElement(By.cssSelector("span")).click();
-            list = containerElement.findElements(By.xpath(".//li[@class='select2-selection__choice']"));
-        }
-        forceCollapseContainerElement();
+        // the selected choices are looked up by the scripts themselves, so the whole operation can be retried
+        retryOnStale(() -> {
+            if (unselectByText(null)) {
+                return;
+            }
+            long left = executeScript(Select2Scripts.REMOVE_CHOICES, containerElement());
+            forceCollapseContainerElement();
+            if (left > 0) {
+                throw new IllegalStateException(left + " options are still selected");
+            }
+        });
     }
 
     @Override
     public void removeSelectedOptions(List<String> textList) {
-        for (String text : textList) {
-            containerElement.findElements(By.xpath(".//li[@class='select2-selection__choice']"))
-                    .stream().filter(el -> el.getAttribute("title").equalsIgnoreCase(text))
-                    .findFirst()
-                    .orElseThrow(() -> new Select2NoOptionPresentException(text, getWebElementOptions().stream().map(WebElement::getText).toList()))
-                    .findElement(By.cssSelector("span")).click();
-        }
-        forceCollapseContainerElement();
+        resumeOnStale(progress -> {
+            if (progress.applied == 0 && unselectByText(textList)) {
+                return;
+            }
+            while (progress.applied < textList.size()) {
+                String text = textList.get(progress.applied);
+                containerElement().findElements(By.xpath(".//li[@class='select2-selection__choice']"))
+                        .stream().filter(el -> el.getAttribute("title").equalsIgnoreCase(text))
+                        .findFirst()
+                        .orElseThrow(() -> noOptionPresent(text, Select2OptionIndex.of(readOptionSnapshot())))
+                        .findElement(By.cssSelector("span")).click();
+                progress.applied++;
+            }
+            forceCollapseContainerElement();
+        });
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public <T> T getSelectedOptionText() {
-        return (T) containerElement.findElement(By.cssSelector(".select2-selection__rendered,.select2-selection__choice")).getText();
+    public String getSelectedOptionText() {
+        return retryOnStale(() -> {
+            if (readStrategy == ReadStrategy.JSOUP) {
+                return Select2HtmlParser.selectedText(containerElement().getAttribute("outerHTML"));
+            }
+            return containerElement().findElement(By.cssSelector(".select2-selection__rendered,.select2-selection__choice")).getText();
+        });
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public <T> List<T> getMultiSelectedOptionsText() {
-        List<T> resultList = new ArrayList<>();
-        List<WebElement> listOfOptions = containerElement.findElements(By.cssSelector(".select2-selection__choice"));
-        listOfOptions.forEach(liElement -> {
-            String remove = liElement.findElement(By.xpath(".//*[contains(@class,'choice__remove')]")).getText();
-            String optionText = liElement.getText().replace(remove, "").trim();
-            resultList.add((T) optionText);
+    public List<String> getMultiSelectedOptionsText() {
+        return retryOnStale(() -> {
+            if (readStrategy == ReadStrategy.JSOUP) {
+                return Select2HtmlParser.multiSelectedTexts(containerElement().getAttribute("outerHTML"));
+            }
+            List<String> resultList = new ArrayList<>();
+            List<WebElement> listOfOptions = containerElement().findElements(By.cssSelector(".select2-selection__choice"));
+            listOfOptions.forEach(liElement -> {
+                String remove = liElement.findElement(By.xpath(".//*[contains(@class,'choice__remove')]")).getText();
+                String optionText = liElement.getText().replace(remove, "").trim();
+                resultList.add(optionText);
+            });
+            return resultList;
         });
-        return resultList;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public <T> List<T> getOptions() {
+    public List<String> getOptions() {
+        return optionTexts(getOptionSnapshot());
+    }
+
+    @Override
+    public List<Select2Option> getOptionSnapshot(boolean... isOpened) {
+        return retryOnStale(() -> {
+            if (isOpened.length > 0 && isOpened[0]) {
+                return readOptionSnapshot();
+            }
+            return getCachedOptions(readOptionVersion()).options();
+        });
+    }
+
+    /**
+     * Stream rendered results of the element, loading further infinite-scroll pages only when the consumer
+     * asks for more, e.g. {@code streamOptions("ne").filter(o -> o.hasText("Nevada")).findFirst()} stops at the
+     * first page containing the match. The dropdown is opened and the query is searched first; it stays open
+     * until the stream is closed.
+     *
+     * @param query    - search term, {@code null} or empty to stream all results
+     * @param isOpened - {@code true} if the dropdown is already opened
+     * @return lazy stream of result snapshots in rendering order
+     */
+    public Stream<Select2Option> streamOptions(String query, boolean... isOpened) {
+        return retryOnStale(() -> {
+            if (!(isOpened.length > 0 && isOpened[0])) {
+                expandContainerElement();
+            }
+            if (query != null && !query.isEmpty()) {
+                search(query, openedProfile());
+            }
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultIterator(0),
+                            Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(this::collapseContainerElement);
+        });
+    }
+
+    /**
+     * Get the capabilities of the element. The profile is detected on first use with a single script call
+     * and reused by all operations of this instance.
+     *
+     * @return profile, or {@code null} if the page has no Select2 instance and no operation has opened the dropdown yet
+     */
+    public Select2Profile getProfile() {
+        return retryOnStale(this::profile);
+    }
+
+    /**
+     * Set the capabilities of the element, e.g. preloaded from a {@link Select2ProfileStore}, so that they are not detected.
+     *
+     * @param profile - profile of the element, {@code null} to detect it again on next use
+     */
+    public void setProfile(Select2Profile profile) {
+        this.profile = profile;
+        this.profileDetected = profile != null;
+        this.dropdownLocator = null;
+    }
+
+    /**
+     * Get the profile if it has already been detected or set, without detecting it.
+     */
+    Select2Profile knownProfile() {
+        return profile;
+    }
+
+    /**
+     * Get the strategy used to read selected options and rendered results.
+     *
+     * @return current read strategy, {@link ReadStrategy#WEB_ELEMENT} by default
+     */
+    public ReadStrategy getReadStrategy() {
+        return readStrategy;
+    }
+
+    /**
+     * Set the strategy used to read selected options and rendered results.
+     *
+     * @param readStrategy - strategy used by read-only methods
+     */
+    public void setReadStrategy(ReadStrategy readStrategy) {
+        this.readStrategy = readStrategy;
+    }
+
+    /**
+     * Get the way search terms are typed.
+     *
+     * @return current search mode, {@link SearchMode#KEYSTROKES} by default
+     */
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    /**
+     * Set the way search terms are typed.
+     *
+     * @param searchMode - search mode used by select and lookup methods
+     */
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * Get the strategy used to open and close the dropdown and to choose results.
+     *
+     * @return current interaction strategy, configured by the {@code select2.interaction} system property,
+     * {@link InteractionStrategy#MOUSE} by default
+     */
+    public InteractionStrategy getInteractionStrategy() {
+        return interactionStrategy;
+    }
+
+    /**
+     * Set the strategy used to open and close the dropdown and to choose results, e.g. {@link InteractionStrategy#SCRIPT}
+     * for widgets which need no pointer actions, or a new {@link AdaptiveInteractionStrategy} to pick one by measurement.
+     *
+     * @param interactionStrategy - strategy used by select and lookup methods
+     */
+    public void setInteractionStrategy(InteractionStrategy interactionStrategy) {
+        this.interactionStrategy = interactionStrategy;
+    }
+
+    /**
+     * Get the number of result fetches triggered by the last typed search.
+     * Static elements report {@code 0}, {@code -1} means the count could not be observed.
+     *
+     * @return fetches of the last search
+     */
+    public long getLastSearchFetchCount() {
+        return lastSearchFetchCount;
+    }
+
+    /**
+     * Get the number of result fetches triggered by all searches of this instance, to be compared
+     * before and after an operation.
+     *
+     * @return total observed fetches
+     */
+    public long getSearchFetchCount() {
+        return searchFetchCount.get();
+    }
+
+    /**
+     * Get statistics of the option cache used by {@link #getOptions()}, {@link #getOptionSnapshot(boolean...)},
+     * {@link #isOptionPresentByText(String, boolean...)} and {@link #isOptionDisabledByText(String, boolean...)}.
+     *
+     * @return cache hits, misses and invalidations of this instance
+     */
+    public Select2CacheStats getCacheStats() {
+        return optionCache.stats();
+    }
+
+    /**
+     * Discard cached options, so that the next read scans the rendered options again.
+     */
+    public void invalidateOptionCache() {
+        optionCache.invalidate();
+    }
+
+    private Select2OptionCache.Entry getCachedOptions(long version) {
+        Select2OptionCache.Entry cached = optionCache.get(version);
+        if (cached != null) {
+            return cached;
+        }
         expandContainerElement();
-        List<T> optionList = getWebElementOptions().stream().map(element -> (T) element.getText()).collect(Collectors.toList());
+        List<Select2Option> optionList = readOptionSnapshot();
         collapseContainerElement();
+        return optionCache.put(version == Select2OptionCache.UNCACHEABLE ? version : readOptionVersion(), optionList);
+    }
+
+    private long readOptionVersion() {
+        Long version = executeScript(Select2Scripts.OPTION_VERSION, selectElement());
+        return version == null ? Select2OptionCache.UNCACHEABLE : version;
+    }
+
+    private List<Select2Option> readOptionSnapshot() {
+        if (readStrategy == ReadStrategy.JSOUP) {
+            WebElement select2DropDownElement = driver.findElement(dropdownLocator());
+            return Select2HtmlParser.options(select2DropDownElement.getAttribute("outerHTML"));
+        }
+        List<Select2Option> optionList = new ArrayList<>();
+        List<Map<String, Object>> rawOptions = executeScript(Select2Scripts.OPTION_SNAPSHOT, selectElement());
+        for (Map<String, Object> rawOption : rawOptions) {
+            optionList.add(Select2Option.fromScriptResult(((Number) rawOption.get("index")).intValue(), rawOption));
+        }
         return optionList;
     }
 
-    private List<WebElement> getWebElementOptions() {
-        select2DropDownElement = selectElement.findElement(By.xpath(SELECT_2_DROPDOWN_LOCATOR));
-        return select2DropDownElement.findElements(By.cssSelector(SELECT_2_RESULTS_LI));
+    private static List<String> optionTexts(List<Select2Option> optionList) {
+        return optionList.stream().map(Select2Option::text).collect(Collectors.toList());
     }
 
+    /**
+     * Open the dropdown with the interaction strategy. If it does not appear, the failure is reported to the strategy
+     * and the dropdown is opened once more with the mouse.
+     */
     private void expandContainerElement() {
-        clickAtSelect2ContainerElement();
+        InteractionStrategy strategy = interactionStrategy;
+        strategy.open(driver, selectElement(), containerElement());
+        try {
+            await(Select2Wait.OPEN, ExpectedConditions.presenceOfElementLocated(dropdownLocator()));
+            return;
+        } catch (TimeoutException ex) {
+            if (strategy == InteractionStrategy.MOUSE) {
+                throw new Select2DropdownNotOpenedException(Select2Diagnostics.capture(driver, selectElement()));
+            }
+            strategy.verificationFailed(InteractionStrategy.Interaction.OPEN);
+        }
+        InteractionStrategy.MOUSE.open(driver, selectElement(), containerElement());
         try {
-            webDriverWait.until(ExpectedConditions.presenceOfNestedElementLocatedBy(selectElement, By.xpath(SELECT_2_DROPDOWN_LOCATOR)));
+            await(Select2Wait.OPEN, ExpectedConditions.presenceOfElementLocated(dropdownLocator()));
         } catch (TimeoutException ex) {
-            throw new Select2DropdownNotOpenedException(selectElement);
+            throw new Select2DropdownNotOpenedException(Select2Diagnostics.capture(driver, selectElement()));
+        }
+    }
+
+    /**
+     * Get the locator of this element's dropdown. The id of the results list is resolved once per instance,
+     * so that the dropdown is found through {@code getElementById} instead of scanning the whole document,
+     * and the dropdown of another opened Select2 element is never picked up.
+     *
+     * @return dropdown locator anchored at the results list id, or {@link #SELECT_2_DROPDOWN_LOCATOR} if the id cannot be resolved
+     */
+    private By dropdownLocator() {
+        By locator = dropdownLocator;
+        if (locator == null) {
+            Select2Profile knownProfile = profile();
+            String resultsId = knownProfile != null && knownProfile.resultsId() != null
+                    ? knownProfile.resultsId()
+                    : executeScript(Select2Scripts.RESULTS_ID, selectElement(), containerElement());
+            locator = resultsId == null || resultsId.contains("'")
+                    ? By.xpath(SELECT_2_DROPDOWN_LOCATOR)
+                    : By.xpath("id('" + resultsId + "')/ancestor::span[contains(@class, 'select2-dropdown')]");
+            dropdownLocator = locator;
         }
+        return locator;
+    }
+
+    /**
+     * Open the dropdown at the start of an operation. When the operation resumes after a stale element,
+     * the caller's {@code isOpened} no longer describes the re-resolved element, so its state is checked instead.
+     */
+    private void expandContainerElement(boolean isOpened, Progress progress) {
+        if (progress.resumed ? !isExpanded() : !isOpened) {
+            expandContainerElement();
+        }
+    }
+
+    private boolean isExpanded() {
+        return containerElement().getAttribute("class").contains("select2-container--open");
     }
 
     private void collapseContainerElement() {
-        if (select2DropDownElement.isDisplayed()) {
-            clickAtSelect2ContainerElement();
+        if (isExpanded()) {
+            closeDropdown();
         }
     }
 
     private void forceCollapseContainerElement() {
-        clickAtSelect2ContainerElement();
+        closeDropdown();
+    }
+
+    /**
+     * Close the dropdown with the interaction strategy. If a strategy other than the mouse leaves it open,
+     * the failure is reported to the strategy and the dropdown is closed with the mouse.
+     */
+    private void closeDropdown() {
+        InteractionStrategy strategy = interactionStrategy;
+        strategy.close(driver, selectElement(), containerElement());
+        if (strategy != InteractionStrategy.MOUSE && isExpanded()) {
+            strategy.verificationFailed(InteractionStrategy.Interaction.CLOSE);
+            InteractionStrategy.MOUSE.close(driver, selectElement(), containerElement());
+        }
+    }
+
+    /**
+     * Deselect options with a single script call, without opening the dropdown. The end state is verified against
+     * the selection Select2 reports and renders after processing the change, so removals prevented by the page
+     * through {@code select2:unselecting} or undone by its change handlers are detected.
+     *
+     * @param textList - texts of options to deselect, {@code null} to deselect all
+     * @return {@code true} if the options were deselected, {@code false} if the page has no Select2 instance
+     * @throws Select2NoOptionPresentException if one of the texts is not selected; other options are deselected
+     * @throws IllegalStateException           if the page kept some of the options selected
+     */
+    @SuppressWarnings("unchecked")
+    private boolean unselectByText(List<String> textList) {
+        Map<String, Object> result = executeScript(Select2Scripts.UNSELECT_BY_TEXT, selectElement(), textList);
+        if (result == null) {
+            return false;
+        }
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            throw new Select2NoOptionPresentException(missing.get(0), (List<String>) result.get("texts"), List.of(),
+                    Select2Diagnostics.capture(driver, selectElement()));
+        }
+        List<String> remaining = new ArrayList<>((List<String>) result.get("remaining"));
+        ((List<String>) result.get("rendered")).stream()
+                .filter(text -> remaining.stream().noneMatch(text::equalsIgnoreCase))
+                .forEach(remaining::add);
+        List<String> notRemoved = textList == null ? remaining : ((List<String>) result.get("removed")).stream()
+                .filter(text -> remaining.stream().anyMatch(text::equalsIgnoreCase))
+                .toList();
+        if (!notRemoved.isEmpty()) {
+            throw new IllegalStateException("Options " + notRemoved + " are still selected");
+        }
+        return true;
     }
 
-    private void clickAtSelect2ContainerElement() {
-        new Actions(driver).moveToElement(containerElement, containerElement.getRect().getWidth() / 2 - 1, 0).click().build().perform();
+    @SuppressWarnings("unchecked")
+    private void setByValue(boolean selected, String... values) {
+        // a stale argument is rejected before the script runs, so the single script call can be retried as a whole
+        Map<String, Object> result = retryOnStale(() -> executeScript(Select2Scripts.SET_BY_VALUE, selectElement(), List.of(values), selected));
+        if (result.get("invalid") != null) {
+            throw new IllegalArgumentException((String) result.get("invalid"));
+        }
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            throw new Select2NoOptionPresentException(missing.get(0), (List<String>) result.get("values"), List.of(),
+                    Select2Diagnostics.capture(driver, selectElement()));
+        }
+        List<String> disabled = (List<String>) result.get("disabled");
+        if (disabled != null && !disabled.isEmpty()) {
+            if (selected) {
+                throw new OptionIsNotSelectedException(disabled.get(0));
+            }
+            throw new IllegalArgumentException("Option with value '" + disabled.get(0) + "' is disabled and cannot be deselected");
+        }
+    }
+
+    private Iterator<Select2Option> resultIterator(long offset) {
+        return new Select2ResultIterator((JavascriptExecutor) driver, selectElement(), offset, RESULTS_TIMEOUT);
     }
 
     private void selectSingleOption(String query) {
-        List<WebElement> optionsList = getWebElementOptions();
-        optionsList
-                .stream()
-                .filter(optionText -> optionText.getText().equalsIgnoreCase(query))
-                .findFirst()
-                .orElseThrow(() -> new Select2NoOptionPresentException(query, optionsList.stream()
-                        .map(WebElement::getText)
-                        .toList())).click();
+        Select2OptionIndex index = Select2OptionIndex.of(readOptionSnapshot());
+        Select2Option option = index.find(query);
+        if (option == null) {
+            option = findOnNextPages(query, index);
+        }
+        chooseResult(option.index(), option.selected(), query);
+    }
+
+    /**
+     * Choose a rendered result with the interaction strategy. Strategies other than the mouse may do nothing without
+     * throwing, so their outcome is verified against the {@code <option>} behind the result: it has to be selected,
+     * or toggled in a multi-select. On mismatch the failure is reported to the strategy and the result is clicked,
+     * after the selection the strategy may have changed is restored and the dropdown it may have closed is reopened.
+     *
+     * @param resultIndex    - position of the result among rendered results
+     * @param selectedBefore - selection state of the option before choosing, {@code null} to read it
+     * @param query          - search term the result was found with, typed again if the result is no longer rendered
+     *                       when it has to be clicked, {@code null} if the result was not searched for
+     */
+    private void chooseResult(int resultIndex, Boolean selectedBefore, String query) {
+        InteractionStrategy strategy = interactionStrategy;
+        if (strategy == InteractionStrategy.MOUSE) {
+            strategy.choose(driver, selectElement(), containerElement(), resultIndex);
+            return;
+        }
+        Map<String, Object> before = executeScript(Select2Scripts.RESULT_SELECTED, selectElement(), resultIndex);
+        boolean wasSelected = selectedBefore != null ? selectedBefore : before != null && Boolean.TRUE.equals(before.get("selected"));
+        strategy.choose(driver, selectElement(), containerElement(), resultIndex);
+        if (before == null) {
+            return;
+        }
+        // the results may be re-rendered after choosing, so the option is looked up by value rather than by position
+        String value = (String) before.get("value");
+        List<String> after = executeScript(Select2Scripts.SELECTED_VALUES, selectElement());
+        boolean expected = !Boolean.TRUE.equals(before.get("multiple")) || !wasSelected;
+        if (after.contains(value) == expected) {
+            return;
+        }
+        strategy.verificationFailed(InteractionStrategy.Interaction.CHOOSE);
+        executeScript(Select2Scripts.RESTORE_SELECTION, selectElement(), before.get("values"));
+        if (!isExpanded()) {
+            expandContainerElement();
+        }
+        Long index = executeScript(Select2Scripts.RESULT_INDEX, selectElement(), value);
+        if ((index == null || index < 0) && query != null) {
+            search(query, openedProfile());
+            index = executeScript(Select2Scripts.RESULT_INDEX, selectElement(), value);
+        }
+        if (index == null || index < 0) {
+            throw new OptionIsNotSelectedException(query != null ? query : value);
+        }
+        InteractionStrategy.MOUSE.choose(driver, selectElement(), containerElement(), index.intValue());
+    }
+
+    /**
+     * Look for the option on infinite-scroll pages which are not loaded yet.
+     *
+     * @param query - option text
+     * @param index - index of the options already rendered
+     * @return matching option
+     * @throws Select2NoOptionPresentException if no page contains the option
+     */
+    private Select2Option findOnNextPages(String query, Select2OptionIndex index) {
+        String key = Select2OptionIndex.normalize(query);
+        List<Select2Option> rendered = index.options();
+        Iterator<Select2Option> results = resultIterator(rendered.isEmpty() ? 0 : rendered.get(rendered.size() - 1).index() + 1);
+        while (results.hasNext()) {
+            Select2Option option = results.next();
+            if (option.text() != null && Select2OptionIndex.normalize(option.text()).equals(key)) {
+                return option;
+            }
+        }
+        throw noOptionPresent(query, nativeOptionIndex(index));
+    }
+
+    /**
+     * Index all options of the underlying {@code <select>}, so that suggestions aren't limited to
+     * the results left by the search.
+     *
+     * @param rendered - index of the rendered results, used for AJAX-backed elements
+     * @return index of all options
+     */
+    private Select2OptionIndex nativeOptionIndex(Select2OptionIndex rendered) {
+        List<Map<String, Object>> rawOptions = executeScript(Select2Scripts.NATIVE_OPTION_SNAPSHOT, selectElement());
+        if (rawOptions == null) {
+            return rendered;
+        }
+        List<Select2Option> optionList = new ArrayList<>();
+        for (Map<String, Object> rawOption : rawOptions) {
+            optionList.add(Select2Option.fromScriptResult(optionList.size(), rawOption));
+        }
+        return Select2OptionIndex.of(optionList);
+    }
+
+    /**
+     * Create the exception for a missing option with "did you mean" suggestions from the rendered options
+     * and a snapshot of the element.
+     */
+    private Select2NoOptionPresentException noOptionPresent(String query, Select2OptionIndex index) {
+        return new Select2NoOptionPresentException(query, optionTexts(index.options()), index.suggest(query, SUGGESTIONS),
+                Select2Diagnostics.capture(driver, selectElement()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R executeScript(String script, Object... args) {
+        return (R) ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+
+    private Select2Profile profile() {
+        if (!profileDetected) {
+            Map<String, Object> rawProfile = executeScript(Select2Scripts.PROFILE, selectElement(), containerElement());
+            if (rawProfile != null) {
+                profile = Select2Profile.fromScriptResult(rawProfile);
+            }
+            profileDetected = true;
+        }
+        return profile;
+    }
+
+    /**
+     * Get the profile while the dropdown is opened. Without a Select2 instance on the page, the profile is probed
+     * once from the rendered elements: dynamic data is assumed when no result is active, and the dropdown is assumed
+     * to close on select, so that the caller decides whether to reopen it.
+     */
+    private Select2Profile openedProfile() {
+        Select2Profile known = profile();
+        if (known == null) {
+            WebElement selectSelection = containerElement().findElement(By.cssSelector(".select2-selection"));
+            boolean multiple = !selectSelection.getAttribute("class").contains("--single");
+            boolean isDynamicData = selectSelection.getAttribute("aria-activedescendant") == null;
+            Select2Profile.SearchField searchField;
+            if (!containerElement().findElements(By.cssSelector("[type='search']")).isEmpty()) {
+                searchField = Select2Profile.SearchField.INLINE;
+            } else if (!driver.findElement(dropdownLocator()).findElements(DROPDOWN_SEARCH_FIELD_LOCATOR).isEmpty()) {
+                searchField = Select2Profile.SearchField.DROPDOWN;
+            } else {
+                searchField = Select2Profile.SearchField.HIDDEN;
+            }
+            known = new Select2Profile(multiple, searchField, isDynamicData, false, true, null);
+            profile = known;
+        }
+        return known;
+    }
+
+    private void search(String query, Select2Profile profile) {
+        switch (profile.searchField()) {
+            case INLINE -> multiSearch(query, profile.ajax());
+            case DROPDOWN -> optionalSearch(query, profile.ajax());
+            case HIDDEN -> {
+            }
+        }
     }
 
     private void optionalSearch(String query, boolean isDynamicData) {
-        select2DropDownElement = selectElement.findElement(By.xpath(SELECT_2_DROPDOWN_LOCATOR));
+        WebElement select2DropDownElement = driver.findElement(dropdownLocator());
         List<WebElement> searchField = select2DropDownElement.findElements(SELECT_2_SEARCH_FIELD_LOCATOR);
         if (!searchField.isEmpty()) {
-            searchField.get(0).clear();
-            searchField.get(0).sendKeys(query);
+            typeSearch(searchField.get(0), query, isDynamicData, true);
+        }
+    }
+
+    private void multiSearch(String query, boolean isDynamicData) {
+        WebElement searchField = containerElement().findElement(By.cssSelector("[type='search']"));
+        typeSearch(searchField, query, isDynamicData, true);
+    }
+
+    private void typeSearch(WebElement searchField, String query, boolean isDynamicData, boolean clearField) {
+        long fetchCount = 0;
+        Map<String, Object> typed = searchMode == SearchMode.PREFIX
+                ? executeScript(Select2Scripts.TYPE_SEARCH, selectElement(), searchField, query)
+                : null;
+        if (typed != null) {
+            if (isDynamicData) {
+                fetchCount = waitUntilLoadingEnd((Long) typed.get("loads"), (String) typed.get("term"));
+            }
+        } else {
+            Long loadedResults = isDynamicData ? armResultsWait() : null;
+            if (clearField) {
+                searchField.clear();
+            }
+            searchField.sendKeys(query);
             if (isDynamicData) {
-                waitUntilLoadingEnd();
+                fetchCount = waitUntilLoadingEnd(loadedResults, query);
             }
         }
+        lastSearchFetchCount = fetchCount;
+        if (fetchCount > 0) {
+            searchFetchCount.addAndGet(fetchCount);
+        }
     }
 
-    private void multiSearch(String query, boolean isDynamicData) {
-        WebElement searchField = containerElement.findElement(By.cssSelector("[type='search']"));
-        searchField.clear();
-        searchField.sendKeys(query);
-        if (isDynamicData) {
+    WebElement getSelectElement() {
+        return selectElement();
+    }
+
+    /**
+     * Drop resolved elements of a locator-based instance, so that they are resolved again on next use.
+     *
+     * @return {@code true} if the instance can re-resolve its elements, {@code false} if it wraps a fixed element
+     */
+    boolean refreshElements() {
+        if (locator == null) {
+            return false;
+        }
+        elements = null;
+        dropdownLocator = null;
+        // a re-created widget gets a new results id: detect again, keeping the known profile if detection finds no instance
+        profileDetected = false;
+        optionCache.invalidate();
+        return true;
+    }
+
+    private WebElement selectElement() {
+        return elements().select();
+    }
+
+    private WebElement containerElement() {
+        return elements().container();
+    }
+
+    private Elements elements() {
+        Elements current = elements;
+        if (current == null) {
+            WebElement selectElement = requireSelect(driver.findElement(locator));
+            current = new Elements(selectElement, findContainer(selectElement));
+            elements = current;
+        }
+        return current;
+    }
+
+    private void retryOnStale(Runnable operation) {
+        retryOnStale(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a read-only or idempotent operation, resolving the elements again and running it once more
+     * if an element went stale.
+     */
+    private <R> R retryOnStale(Supplier<R> operation) {
+        try {
+            return operation.get();
+        } catch (StaleElementReferenceException ex) {
+            if (!refreshElements()) {
+                throw ex;
+            }
+            return operation.get();
+        }
+    }
+
+    /**
+     * Run an operation which changes the selection step by step. The operation counts applied steps in the progress;
+     * if an element went stale, the elements are resolved again and the operation resumes from the first step
+     * which was not applied, so that no option is toggled twice.
+     */
+    private void resumeOnStale(Consumer<Progress> operation) {
+        Progress progress = new Progress();
+        try {
+            operation.accept(progress);
+        } catch (StaleElementReferenceException ex) {
+            if (!refreshElements()) {
+                throw ex;
+            }
+            progress.resumed = true;
+            operation.accept(progress);
+        }
+    }
+
+    WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Install listeners of completed result loads before a search is typed.
+     *
+     * @return number of result loads so far, or {@code null} if the page has no Select2 instance to listen to
+     */
+    private Long armResultsWait() {
+        return executeScript(Select2Scripts.ARM_RESULTS, selectElement());
+    }
+
+    /**
+     * Wait until results for the query are loaded. When listeners were installed, a single asynchronous script
+     * returns as soon as Select2 reports the results, otherwise the loading indicator is polled.
+     *
+     * @param loadedResults - number of result loads returned by {@link #armResultsWait()} before typing
+     * @param query         - typed search term
+     * @return number of result fetches completed while waiting, or {@code -1} if it is unknown
+     * or no results for the query arrived in time
+     */
+    private long waitUntilLoadingEnd(Long loadedResults, String query) {
+        if (loadedResults == null) {
             waitUntilLoadingEnd();
+            return -1;
+        }
+        try {
+            Long fetchCount = (Long) ((JavascriptExecutor) driver).executeAsyncScript(Select2Scripts.AWAIT_RESULTS, selectElement(), loadedResults, query, RESULTS_TIMEOUT.toMillis());
+            return fetchCount == null ? -1 : fetchCount;
+        } catch (ScriptTimeoutException ex) {
+            return -1;
         }
-        select2DropDownElement = selectElement.findElement(By.xpath(SELECT_2_DROPDOWN_LOCATOR));
     }
 
     private void waitUntilLoadingEnd() {
         try {
-            webDriverWait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".loading-results")));
-            webDriverWait.until(ExpectedConditions.invisibilityOfElementLocated(By.cssSelector(".loading-results")));
+            await(Select2Wait.LOADING, ExpectedConditions.visibilityOfElementLocated(By.cssSelector(".loading-results")));
+            await(Select2Wait.LOAD, ExpectedConditions.invisibilityOfElementLocated(By.cssSelector(".loading-results")));
         } catch (TimeoutException ex) {
             //do nothing
         }
     }
+
+    private <V> V await(String condition, Function<? super WebDriver, V> isTrue) {
+        return webDriverWait instanceof Select2Wait select2Wait ? select2Wait.until(condition, isTrue) : webDriverWait.until(isTrue);
+    }
+
+    /**
+     * Resolved {@code <select>} element and its Select2 container.
+     */
+    private record Elements(WebElement select, WebElement container) {
+    }
+
+    /**
+     * Steps applied by an operation run with {@link #resumeOnStale(Consumer)}.
+     */
+    private static final class Progress {
+        private int applied;
+        private boolean resumed;
+    }
 }
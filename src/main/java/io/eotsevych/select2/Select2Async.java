@@ -0,0 +1,304 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade of a Select2 element: every {@link ISelect2} operation returns a {@link CompletableFuture}.
+ * <p>
+ * Operations run on virtual threads when the JVM supports them (Java 21+), otherwise on a shared cached pool of
+ * daemon threads. Operations of all elements bound to the same driver are queued and run one after another in
+ * submission order, since a WebDriver session cannot serve concurrent commands; operations of different sessions
+ * run concurrently. A failed operation completes its future exceptionally and doesn't stop the queue.
+ * <pre>
+ * List&lt;CompletableFuture&lt;Void&gt;&gt; selections = drivers.stream()
+ *         .map(driver -&gt; new Select2Async(new Select2(By.name("country"), driver)).selectByText("Nevada"))
+ *         .toList();
+ * CompletableFuture.allOf(selections.toArray(CompletableFuture[]::new)).join();
+ * </pre>
+ */
+public final class Select2Async {
+    private static final Executor DEFAULT_EXECUTOR = defaultExecutor();
+    private static final Map<WebDriver, SessionQueue> QUEUES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ISelect2 select2;
+    private final Executor executor;
+    private final SessionQueue queue;
+
+    /**
+     * Constructs an asynchronous facade of a {@link Select2} or {@link ScriptSelect2} element on the default executor.
+     *
+     * @param select2 The Select2 element.
+     */
+    public Select2Async(ISelect2 select2) {
+        this(select2, driverOf(select2));
+    }
+
+    /**
+     * Constructs an asynchronous facade of any {@link ISelect2} implementation on the default executor.
+     *
+     * @param select2 The Select2 element.
+     * @param driver  The WebDriver of the element, whose operations are serialized.
+     */
+    public Select2Async(ISelect2 select2, WebDriver driver) {
+        this(select2, driver, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Constructs an asynchronous facade of any {@link ISelect2} implementation.
+     *
+     * @param select2  The Select2 element.
+     * @param driver   The WebDriver of the element, whose operations are serialized.
+     * @param executor The executor running the operations.
+     */
+    public Select2Async(ISelect2 select2, WebDriver driver, Executor executor) {
+        this.select2 = select2;
+        this.executor = executor;
+        this.queue = QUEUES.computeIfAbsent(driver, key -> new SessionQueue());
+    }
+
+    /**
+     * Get the wrapped element, e.g. for synchronous calls.
+     *
+     * @return wrapped element
+     */
+    public ISelect2 getSelect2() {
+        return select2;
+    }
+
+    /**
+     * Run {@link ISelect2#selectByText(String, boolean, boolean)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByText(String text, boolean isOpened, boolean closeOnSelect) {
+        return run(() -> select2.selectByText(text, isOpened, closeOnSelect));
+    }
+
+    /**
+     * Run {@link ISelect2#selectByText(String, boolean...)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByText(String text, boolean... isOpened) {
+        boolean[] opened = isOpened.clone();
+        return run(() -> select2.selectByText(text, opened));
+    }
+
+    /**
+     * Run {@link ISelect2#selectByText(List, boolean...)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByText(List<String> text, boolean... isOpened) {
+        List<String> texts = List.copyOf(text);
+        boolean[] opened = isOpened.clone();
+        return run(() -> select2.selectByText(texts, opened));
+    }
+
+    /**
+     * Run {@link ISelect2#selectByText(List, boolean, boolean)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByText(List<String> text, boolean isOpened, boolean closeOnSelect) {
+        List<String> texts = List.copyOf(text);
+        return run(() -> select2.selectByText(texts, isOpened, closeOnSelect));
+    }
+
+    /**
+     * Run {@link ISelect2#selectByIndex(int, boolean...)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByIndex(int index, boolean... isOpened) {
+        boolean[] opened = isOpened.clone();
+        return run(() -> select2.selectByIndex(index, opened));
+    }
+
+    /**
+     * Run {@link ISelect2#selectByIndex(int[], boolean...)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByIndex(int[] index, boolean... isOpened) {
+        int[] indexes = index.clone();
+        boolean[] opened = isOpened.clone();
+        return run(() -> select2.selectByIndex(indexes, opened));
+    }
+
+    /**
+     * Run {@link ISelect2#selectByValue(String...)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> selectByValue(String... values) {
+        String[] copy = values.clone();
+        return run(() -> select2.selectByValue(copy));
+    }
+
+    /**
+     * Run {@link ISelect2#deselectByValue(String...)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> deselectByValue(String... values) {
+        String[] copy = values.clone();
+        return run(() -> select2.deselectByValue(copy));
+    }
+
+    /**
+     * Run {@link ISelect2#isOptionDisabledByText(String, boolean...)} asynchronously.
+     *
+     * @return future completed with the result of the operation
+     */
+    public CompletableFuture<Boolean> isOptionDisabledByText(String text, boolean... isOpened) {
+        boolean[] opened = isOpened.clone();
+        return submit(() -> select2.isOptionDisabledByText(text, opened));
+    }
+
+    /**
+     * Run {@link ISelect2#isOptionPresentByText(String, boolean...)} asynchronously.
+     *
+     * @return future completed with the result of the operation
+     */
+    public CompletableFuture<Boolean> isOptionPresentByText(String text, boolean... isOpened) {
+        boolean[] opened = isOpened.clone();
+        return submit(() -> select2.isOptionPresentByText(text, opened));
+    }
+
+    /**
+     * Run {@link ISelect2#removeSelectedOption()} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> removeSelectedOption() {
+        return run(select2::removeSelectedOption);
+    }
+
+    /**
+     * Run {@link ISelect2#removeSelectedOption(String)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> removeSelectedOption(String text) {
+        return run(() -> select2.removeSelectedOption(text));
+    }
+
+    /**
+     * Run {@link ISelect2#removeAllSelectedOptions()} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> removeAllSelectedOptions() {
+        return run(select2::removeAllSelectedOptions);
+    }
+
+    /**
+     * Run {@link ISelect2#removeSelectedOptions(List)} asynchronously.
+     *
+     * @return future completed when the operation is done
+     */
+    public CompletableFuture<Void> removeSelectedOptions(List<String> textList) {
+        List<String> texts = List.copyOf(textList);
+        return run(() -> select2.removeSelectedOptions(texts));
+    }
+
+    /**
+     * Run {@link ISelect2#getSelectedOptionText()} asynchronously.
+     *
+     * @return future completed with the result of the operation
+     */
+    public CompletableFuture<String> getSelectedOptionText() {
+        return submit(select2::getSelectedOptionText);
+    }
+
+    /**
+     * Run {@link ISelect2#getOptions()} asynchronously.
+     *
+     * @return future completed with the result of the operation
+     */
+    public CompletableFuture<List<String>> getOptions() {
+        return submit(select2::getOptions);
+    }
+
+    /**
+     * Run {@link ISelect2#getOptionSnapshot(boolean...)} asynchronously.
+     *
+     * @return future completed with the result of the operation
+     */
+    public CompletableFuture<List<Select2Option>> getOptionSnapshot(boolean... isOpened) {
+        boolean[] opened = isOpened.clone();
+        return submit(() -> select2.getOptionSnapshot(opened));
+    }
+
+    /**
+     * Run {@link ISelect2#getMultiSelectedOptionsText()} asynchronously.
+     *
+     * @return future completed with the result of the operation
+     */
+    public CompletableFuture<List<String>> getMultiSelectedOptionsText() {
+        return submit(select2::getMultiSelectedOptionsText);
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return submit(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        return queue.enqueue(operation, executor);
+    }
+
+    private static WebDriver driverOf(ISelect2 select2) {
+        if (select2 instanceof Select2 uiSelect2) {
+            return uiSelect2.getDriver();
+        }
+        if (select2 instanceof ScriptSelect2 scriptSelect2) {
+            return scriptSelect2.getDriver();
+        }
+        throw new IllegalArgumentException("Driver of " + select2.getClass().getName() + " is unknown, pass it explicitly");
+    }
+
+    /**
+     * Use virtual threads when available without requiring Java 21 at compile time.
+     */
+    private static Executor defaultExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "select2-async");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Operations of one WebDriver session, chained so that each starts after the previous one completes.
+     * Waiting operations hold no thread.
+     */
+    private static final class SessionQueue {
+        private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+        synchronized <T> CompletableFuture<T> enqueue(Supplier<T> operation, Executor executor) {
+            CompletableFuture<T> next = tail.handle((result, failure) -> null).thenApplyAsync(ignored -> operation.get(), executor);
+            tail = next;
+            return next;
+        }
+    }
+}
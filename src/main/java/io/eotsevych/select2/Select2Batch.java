@@ -0,0 +1,141 @@
+package io.eotsevych.select2;
+
+import io.eotsevych.select2.exceptions.Select2NoOptionPresentException;
+import io.eotsevych.select2.exceptions.UnexpectedSelect2StructureException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.UnexpectedTagNameException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Fills many Select2 elements at once.
+ * All static Select2 elements are filled with a single script call, which fires the same Select2 and
+ * {@code change} events as a user selection. AJAX-backed elements are filled one by one through
+ * {@link Select2#selectByText(String, boolean...)}; a failure of one of them is reported in its result and doesn't
+ * abort the batch.
+ */
+public final class Select2Batch {
+
+    private Select2Batch() {
+    }
+
+    /**
+     * Select options by text in Select2 elements located by CSS selectors.
+     *
+     * @param driver     - WebDriver with the page opened
+     * @param selections - option texts to select by CSS selector of the {@code <select>} element
+     * @return result per CSS selector, in the order of the given map
+     */
+    public static Map<String, Select2BatchResult> fill(WebDriver driver, Map<String, List<String>> selections) {
+        return fill(driver, selections, (entry, selector) -> entry.put("selector", selector));
+    }
+
+    /**
+     * Select options by text in Select2 elements.
+     *
+     * @param driver     - WebDriver with the page opened
+     * @param selections - option texts to select by {@code <select>} element
+     * @return result per element, in the order of the given map
+     */
+    public static Map<WebElement, Select2BatchResult> fillElements(WebDriver driver, Map<WebElement, List<String>> selections) {
+        return fill(driver, selections, (entry, element) -> entry.put("element", element));
+    }
+
+    /**
+     * Select options by text in Select2 elements located by locators. Every locator is resolved with
+     * {@link WebDriver#findElements(By)} to its first match before the single script call, a locator without
+     * a match is reported as {@link Select2BatchResult.Status#NOT_FOUND}.
+     *
+     * @param driver     - WebDriver with the page opened
+     * @param selections - option texts to select by locator of the {@code <select>} element
+     * @return result per locator, in the order of the given map
+     */
+    public static Map<By, Select2BatchResult> fillLocated(WebDriver driver, Map<By, List<String>> selections) {
+        Map<By, WebElement> elements = new HashMap<>();
+        for (By locator : selections.keySet()) {
+            List<WebElement> found = driver.findElements(locator);
+            elements.put(locator, found.isEmpty() ? null : found.get(0));
+        }
+        return fill(driver, selections, (entry, locator) -> entry.put("element", elements.get(locator)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, Select2BatchResult> fill(WebDriver driver, Map<K, List<String>> selections, BiConsumer<Map<String, Object>, K> target) {
+        List<K> keys = new ArrayList<>(selections.keySet());
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (K key : keys) {
+            Map<String, Object> entry = new HashMap<>();
+            target.accept(entry, key);
+            entry.put("texts", selections.get(key));
+            entries.add(entry);
+        }
+        List<Map<String, Object>> rawResults = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(Select2Scripts.BATCH_SELECT_BY_TEXT, entries);
+
+        WebDriverWait webDriverWait = null;
+        Map<K, Select2BatchResult> results = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Map<String, Object> rawResult = rawResults.get(i);
+            Select2BatchResult.Status status = Select2BatchResult.Status.valueOf((String) rawResult.get("status"));
+            if (status == Select2BatchResult.Status.FALLBACK) {
+                if (webDriverWait == null) {
+                    webDriverWait = new Select2Wait(driver, Duration.of(5, ChronoUnit.SECONDS));
+                }
+                results.put(keys.get(i), fillThroughUi((WebElement) rawResult.get("element"), webDriverWait,
+                        selections.get(keys.get(i)), Boolean.TRUE.equals(rawResult.get("multiple"))));
+            } else {
+                results.put(keys.get(i), new Select2BatchResult(status,
+                        List.copyOf((List<String>) rawResult.get("applied")),
+                        List.copyOf((List<String>) rawResult.get("missing")),
+                        List.copyOf((List<String>) rawResult.get("replaced")),
+                        List.copyOf((List<String>) rawResult.get("disabled"))));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Fill one element through the UI. Failures are reported in the result of the element instead of being thrown,
+     * because the other elements of the batch have already been filled.
+     */
+    private static Select2BatchResult fillThroughUi(WebElement selectElement, WebDriverWait webDriverWait, List<String> texts, boolean multiple) {
+        Select2 select2;
+        try {
+            select2 = new Select2(selectElement, webDriverWait);
+        } catch (UnexpectedTagNameException | UnexpectedSelect2StructureException ex) {
+            return new Select2BatchResult(Select2BatchResult.Status.NOT_FOUND, List.of(), List.copyOf(texts));
+        }
+        Select2BatchResult.Status status = Select2BatchResult.Status.FALLBACK;
+        List<String> applied = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String text : texts) {
+            if (status == Select2BatchResult.Status.FAILED) {
+                missing.add(text);
+                continue;
+            }
+            try {
+                select2.selectByText(text);
+                applied.add(text);
+            } catch (Select2NoOptionPresentException ex) {
+                missing.add(text);
+            } catch (RuntimeException ex) {
+                status = Select2BatchResult.Status.FAILED;
+                missing.add(text);
+            }
+        }
+        // a single select keeps only the last selected text
+        List<String> replaced = multiple || applied.isEmpty() ? List.of() : List.copyOf(applied.subList(0, applied.size() - 1));
+        applied = applied.subList(replaced.size(), applied.size());
+        return new Select2BatchResult(status, List.copyOf(applied), missing, replaced, List.of());
+    }
+}
@@ -0,0 +1,58 @@
+package io.eotsevych.select2;
+
+import java.util.List;
+
+/**
+ * Outcome of filling a single Select2 element with {@link Select2Batch}.
+ *
+ * @param status   How the element was filled.
+ * @param applied  Option texts which were selected.
+ * @param missing  Option texts which were not found.
+ * @param replaced Option texts which were selected but replaced by a later text, because a single select keeps only the last one.
+ * @param disabled Option texts which were found but not selected because they are disabled.
+ */
+public record Select2BatchResult(Status status, List<String> applied, List<String> missing, List<String> replaced,
+                                 List<String> disabled) {
+
+    /**
+     * Creates a result without replaced or disabled options.
+     *
+     * @param status  How the element was filled.
+     * @param applied Option texts which were selected.
+     * @param missing Option texts which were not found.
+     */
+    public Select2BatchResult(Status status, List<String> applied, List<String> missing) {
+        this(status, applied, missing, List.of(), List.of());
+    }
+
+    /**
+     * How the element was filled.
+     */
+    public enum Status {
+        /**
+         * Options were selected by the batch script.
+         */
+        APPLIED,
+        /**
+         * The element is AJAX-backed or has no Select2 instance, options were selected through {@link Select2#selectByText}.
+         */
+        FALLBACK,
+        /**
+         * Filling through {@link Select2#selectByText} failed, the texts which were not selected are missing.
+         */
+        FAILED,
+        /**
+         * No {@code <select>} element was found, or it is not a Select2 element.
+         */
+        NOT_FOUND
+    }
+
+    /**
+     * Verify all requested options were selected.
+     *
+     * @return {@code true} if the element was found and no option is missing, replaced or disabled, {@code false} otherwise.
+     */
+    public boolean isComplete() {
+        return status != Status.NOT_FOUND && status != Status.FAILED && missing.isEmpty() && replaced.isEmpty() && disabled.isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package io.eotsevych.select2;
+
+/**
+ * Statistics of the option cache kept by a Select2 instance.
+ *
+ * @param hits          Number of reads served from the cache.
+ * @param misses        Number of reads that required scanning the rendered options.
+ * @param invalidations Number of cached snapshots discarded because the Select2 element has changed.
+ */
+public record Select2CacheStats(long hits, long misses, long invalidations) {
+
+    /**
+     * Get share of reads served from the cache.
+     *
+     * @return hit ratio from {@code 0.0} to {@code 1.0}, or {@code 0.0} if there were no reads.
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,174 @@
+package io.eotsevych.select2;
+
+import io.eotsevych.select2.exceptions.Select2Messages;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Failure diagnostics of Select2 elements.
+ * <p>
+ * When an operation fails, the state of the element is captured as a {@link Select2Snapshot} with a single script call
+ * and attached to the exception, which renders its message only when the message is read, capped at
+ * {@link #getMaxMessageLength()} characters. How much is captured is set per run by the {@link DiagnosticsLevel},
+ * taken from the {@code select2.diagnostics} system property ({@code off}, {@code summary} or {@code full},
+ * {@code summary} by default), and the cap from the {@code select2.diagnostics.maxLength} property. Invalid property
+ * values are reported as a warning and replaced by the defaults, so that a typo never breaks the failure paths.
+ */
+public final class Select2Diagnostics {
+    /**
+     * Default maximum length of exception messages.
+     */
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = Select2Messages.DEFAULT_MAX_MESSAGE_LENGTH;
+
+    private static final int SUMMARY_OPTIONS = 20;
+    private static final int SUMMARY_HTML_LENGTH = 1000;
+    private static final System.Logger LOGGER = System.getLogger(Select2Diagnostics.class.getName());
+
+    private static volatile DiagnosticsLevel level = levelProperty();
+
+    private Select2Diagnostics() {
+    }
+
+    private static DiagnosticsLevel levelProperty() {
+        String value = System.getProperty("select2.diagnostics", DiagnosticsLevel.SUMMARY.name());
+        try {
+            return DiagnosticsLevel.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "Invalid select2.diagnostics value ''{0}'', using summary", value);
+            return DiagnosticsLevel.SUMMARY;
+        }
+    }
+
+    /**
+     * Get the diagnostics level.
+     *
+     * @return current level
+     */
+    public static DiagnosticsLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Set the diagnostics level for all Select2 elements.
+     *
+     * @param diagnosticsLevel - new level
+     */
+    public static void setLevel(DiagnosticsLevel diagnosticsLevel) {
+        level = diagnosticsLevel;
+    }
+
+    /**
+     * Get the maximum length of exception messages.
+     *
+     * @return maximum number of characters
+     */
+    public static int getMaxMessageLength() {
+        return Select2Messages.getMaxMessageLength();
+    }
+
+    /**
+     * Set the maximum length of exception messages.
+     *
+     * @param length - maximum number of characters
+     */
+    public static void setMaxMessageLength(int length) {
+        Select2Messages.setMaxMessageLength(length);
+    }
+
+    /**
+     * Capture the state of a Select2 element through the driver the element belongs to.
+     *
+     * @param selectElement - {@code <select>} element
+     * @return snapshot, or {@code null} if diagnostics are off or the state cannot be captured
+     */
+    public static Select2Snapshot capture(WebElement selectElement) {
+        if (level == DiagnosticsLevel.OFF || !(selectElement instanceof WrapsDriver wrapsDriver)) {
+            return null;
+        }
+        return capture(wrapsDriver.getWrappedDriver(), selectElement);
+    }
+
+    /**
+     * Capture the state of a Select2 element with a single script call. A failure to capture is ignored,
+     * so that diagnostics never replace the original failure.
+     *
+     * @param driver        - driver owning the element
+     * @param selectElement - {@code <select>} element
+     * @return snapshot, or {@code null} if diagnostics are off or the state cannot be captured
+     */
+    public static Select2Snapshot capture(WebDriver driver, WebElement selectElement) {
+        return capture(driver, selectElement, level);
+    }
+
+    /**
+     * Capture the state of a Select2 element at a given level, regardless of the current one.
+     *
+     * @param driver        - driver owning the element
+     * @param selectElement - {@code <select>} element
+     * @param captureLevel  - how much to capture
+     * @return snapshot, or {@code null} if the level is {@link DiagnosticsLevel#OFF} or the state cannot be captured
+     */
+    @SuppressWarnings("unchecked")
+    public static Select2Snapshot capture(WebDriver driver, WebElement selectElement, DiagnosticsLevel captureLevel) {
+        if (captureLevel == DiagnosticsLevel.OFF || !(driver instanceof JavascriptExecutor executor)) {
+            return null;
+        }
+        boolean full = captureLevel == DiagnosticsLevel.FULL;
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) executor.executeScript(Select2Scripts.DIAGNOSTIC_SNAPSHOT, selectElement,
+                    full ? Integer.MAX_VALUE : SUMMARY_OPTIONS, full ? -1 : SUMMARY_HTML_LENGTH, full);
+        } catch (WebDriverException | ClassCastException ex) {
+            return null;
+        }
+        if (result == null) {
+            return null;
+        }
+        return new Select2Snapshot(captureLevel, ((Number) result.get("optionCount")).intValue(),
+                List.copyOf((List<String>) result.get("options")), List.copyOf((List<String>) result.get("selected")),
+                List.copyOf((List<String>) result.get("results")), Boolean.TRUE.equals(result.get("open")),
+                (String) result.get("parentHtml"), (String) result.get("dropdownHtml"));
+    }
+
+    /**
+     * Cut a text to a maximum length, marking how much was left out.
+     *
+     * @param text      - text to cut
+     * @param maxLength - maximum length of the result
+     * @return the text itself if it is short enough, otherwise its beginning followed by the number of omitted characters
+     */
+    public static String abbreviate(String text, int maxLength) {
+        return Select2Messages.abbreviate(text, maxLength);
+    }
+
+    /**
+     * Format the first texts of a list, marking how many were left out.
+     *
+     * @param texts - first texts of the list
+     * @param total - size of the whole list
+     * @return texts in list notation, followed by the number of omitted texts if {@code total} exceeds their number
+     */
+    public static String abbreviate(List<String> texts, int total) {
+        return abbreviate(texts, total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Format the texts of a list which fit into a maximum length, marking how many were left out.
+     * Only the texts which are rendered are read, so a long list costs no more than a short one.
+     *
+     * @param texts     - texts of the list
+     * @param total     - size of the whole list
+     * @param maxLength - length after which no more texts are added
+     * @return texts in list notation, followed by the number of omitted texts if not all of them fit
+     */
+    public static String abbreviate(List<String> texts, int total, int maxLength) {
+        return Select2Messages.abbreviate(texts, total, maxLength);
+    }
+}
@@ -0,0 +1,263 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Factory of Select2 handles bound to a single WebDriver session.
+ * All handles share one WebDriverWait, and every {@code <select>} element gets exactly one handle together
+ * with its option cache, so repeated lookups of the same element don't create new objects or rescan options.
+ * Handles keep no mutable state besides their thread-safe option cache and profile, and can be used from any thread
+ * bound to the driver.
+ * <p>
+ * Factories obtained with {@link #of(WebDriver)} are registered per driver and hold it strongly; call
+ * {@link #release(WebDriver)} or {@link #close()} from the driver teardown. Factories of sessions which have already
+ * quit are also released on the next lookup, as long as the session state can be read through the driver decorators.
+ * <p>
+ * Handles of elements are kept until the factory is closed; {@link #scan()} releases the handles of elements
+ * which are not on the scanned page, e.g. after navigation.
+ */
+public final class Select2Factory implements AutoCloseable {
+    private static final Duration DEFAULT_TIMEOUT = Duration.of(5, ChronoUnit.SECONDS);
+    private static final Map<WebDriver, Select2Factory> FACTORIES = new HashMap<>();
+
+    private final WebDriver driver;
+    private final WebDriverWait webDriverWait;
+    private final Map<WebElement, Select2> handles = new HashMap<>();
+    private final Map<By, Select2> locatorHandles = new ConcurrentHashMap<>();
+    private final Map<WebElement, Select2Profile> profiles = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, Select2Profile> scannedProfiles = new ConcurrentHashMap<>();
+    private volatile Map<String, Select2Profile> preloadedProfiles = Map.of();
+
+    /**
+     * Constructs a factory with the default 5 seconds timeout.
+     *
+     * @param driver The WebDriver owning all handles.
+     */
+    public Select2Factory(WebDriver driver) {
+        this(driver, new Select2Wait(driver, DEFAULT_TIMEOUT));
+    }
+
+    /**
+     * Constructs a factory with the given wait configuration.
+     *
+     * @param driver        The WebDriver owning all handles.
+     * @param webDriverWait The WebDriverWait shared by all handles.
+     */
+    public Select2Factory(WebDriver driver, WebDriverWait webDriverWait) {
+        this.driver = driver;
+        this.webDriverWait = webDriverWait;
+    }
+
+    /**
+     * Get the registered factory of the driver, creating it on first use.
+     *
+     * @param driver - WebDriver of the current session
+     * @return factory bound to the driver
+     */
+    public static Select2Factory of(WebDriver driver) {
+        List<Select2Factory> ended = new ArrayList<>();
+        Select2Factory factory;
+        synchronized (FACTORIES) {
+            FACTORIES.values().removeIf(registered -> registered.isSessionEnded() && ended.add(registered));
+            factory = FACTORIES.computeIfAbsent(driver, Select2Factory::new);
+        }
+        ended.forEach(Select2Factory::close);
+        return factory;
+    }
+
+    /**
+     * Close and unregister the factory of the driver, if there is one. Call it when the session ends,
+     * e.g. before {@link WebDriver#quit()}.
+     *
+     * @param driver - WebDriver of the ending session
+     */
+    public static void release(WebDriver driver) {
+        Select2Factory factory;
+        synchronized (FACTORIES) {
+            factory = FACTORIES.remove(driver);
+        }
+        if (factory != null) {
+            factory.close();
+        }
+    }
+
+    /**
+     * Get the handle of a Select2 element.
+     *
+     * @param selectElement - {@code <select>} element
+     * @return handle shared by all callers of this factory while it is in use
+     */
+    public Select2 select2(WebElement selectElement) {
+        return handle(selectElement, () -> new Select2(selectElement, webDriverWait));
+    }
+
+    private Select2 handle(WebElement selectElement, Supplier<Select2> create) {
+        synchronized (handles) {
+            return handles.computeIfAbsent(selectElement, key -> create.get());
+        }
+    }
+
+    /**
+     * Get the locator-based handle of a Select2 element, which resolves the element lazily and re-resolves it
+     * after the page re-renders it.
+     *
+     * @param locator - locator of the {@code <select>} element
+     * @return handle shared by all callers of this factory
+     */
+    public Select2 select2(By locator) {
+        return locatorHandles.computeIfAbsent(locator, key -> {
+            Select2 handle = new Select2(key, driver, webDriverWait);
+            Select2Profile profile = preloadedProfiles.get(Select2ProfileStore.key(key));
+            if (profile != null) {
+                handle.setProfile(profile);
+            }
+            return handle;
+        });
+    }
+
+    /**
+     * Get a script-driven handle of a Select2 element, falling back to the shared UI handle.
+     *
+     * @param selectElement - {@code <select>} element
+     * @return script-driven handle
+     */
+    public ScriptSelect2 scriptSelect2(WebElement selectElement) {
+        return new ScriptSelect2(select2(selectElement));
+    }
+
+    /**
+     * Scan the current page, reusing handles of already known elements and releasing the handles and profiles
+     * of elements which are not on the page anymore.
+     *
+     * @return registry of discovered elements
+     */
+    public Select2Page scan() {
+        Select2Page page = Select2Page.scan(driver, (select, container) ->
+                handle(select, () -> new Select2(select, container, driver, webDriverWait)));
+        Set<WebElement> onPage = new HashSet<>();
+        page.getWidgets().forEach(widget -> onPage.add(widget.select2().getSelectElement()));
+        synchronized (handles) {
+            handles.keySet().retainAll(onPage);
+        }
+        synchronized (profiles) {
+            profiles.keySet().retainAll(onPage);
+        }
+        for (Select2Widget widget : page.getWidgets()) {
+            profiles.put(widget.select2().getSelectElement(), widget.profile());
+            Select2Profile detected = widget.select2().knownProfile();
+            if (detected != null && widget.id() != null && !widget.id().isEmpty()) {
+                scannedProfiles.put(Select2ProfileStore.key(By.id(widget.id())), detected);
+            } else if (detected != null && widget.name() != null && !widget.name().isEmpty()) {
+                scannedProfiles.put(Select2ProfileStore.key(By.name(widget.name())), detected);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Use profiles stored for a page by locator-based handles, so that they skip detecting the capabilities
+     * of their elements. Applies to the handles already created and to those created later.
+     *
+     * @param store   - stored profiles, e.g. loaded with {@link Select2ProfileStore#load(java.nio.file.Path)}
+     * @param pageUrl - URL of the page the driver has opened
+     */
+    public void preloadProfiles(Select2ProfileStore store, String pageUrl) {
+        Map<String, Select2Profile> page = store.getPage(pageUrl);
+        preloadedProfiles = page;
+        locatorHandles.forEach((locator, handle) -> {
+            Select2Profile profile = page.get(Select2ProfileStore.key(locator));
+            if (profile != null) {
+                handle.setProfile(profile);
+            }
+        });
+    }
+
+    /**
+     * Store the profiles detected so far by locator-based handles and by {@link #scan()}, the latter keyed
+     * by the {@code id} or {@code name} locator of the element.
+     *
+     * @param store   - store to put the profiles into
+     * @param pageUrl - URL of the page the driver has opened
+     */
+    public void exportProfiles(Select2ProfileStore store, String pageUrl) {
+        scannedProfiles.forEach((key, profile) -> store.put(pageUrl, key, profile));
+        locatorHandles.forEach((locator, handle) -> {
+            Select2Profile profile = handle.knownProfile();
+            if (profile != null) {
+                store.put(pageUrl, Select2ProfileStore.key(locator), profile);
+            }
+        });
+    }
+
+    /**
+     * Get the profile of an element discovered by {@link #scan()}.
+     *
+     * @param selectElement - {@code <select>} element
+     * @return profile, or {@code null} if the element has not been scanned yet
+     */
+    public Select2Profile getProfile(WebElement selectElement) {
+        return profiles.get(selectElement);
+    }
+
+    /**
+     * Get the driver this factory is bound to.
+     *
+     * @return WebDriver of the session
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Get the wait shared by all handles.
+     *
+     * @return WebDriverWait of the factory
+     */
+    public WebDriverWait getWebDriverWait() {
+        return webDriverWait;
+    }
+
+    /**
+     * Release all handles and caches, and unregister the factory.
+     */
+    @Override
+    public void close() {
+        synchronized (handles) {
+            handles.clear();
+        }
+        locatorHandles.clear();
+        profiles.clear();
+        scannedProfiles.clear();
+        synchronized (FACTORIES) {
+            FACTORIES.remove(driver, this);
+        }
+    }
+
+    /**
+     * Check whether the session of the driver has quit, looking through decorators which expose the wrapped driver.
+     */
+    private boolean isSessionEnded() {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver wrapper && wrapper.getWrappedDriver() != null && wrapper.getWrappedDriver() != current) {
+            current = wrapper.getWrappedDriver();
+        }
+        return current instanceof RemoteWebDriver remoteDriver && remoteDriver.getSessionId() == null;
+    }
+}
@@ -0,0 +1,76 @@
+package io.eotsevych.select2;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads Select2 state from the {@code outerHTML} of its container or dropdown with jsoup.
+ * The queries mirror the WebElement reads of {@link Select2} and the {@link Select2Scripts#OPTION_SNAPSHOT} script.
+ */
+final class Select2HtmlParser {
+    private static final Pattern RESULT_ID = Pattern.compile("-result-[0-9a-z]{4}-(.*)$");
+
+    private Select2HtmlParser() {
+    }
+
+    /**
+     * Get text of the rendered selection, or of the first chosen item of a multi-select.
+     *
+     * @param containerHtml - outerHTML of the Select2 container
+     * @return rendered text, empty if there is no rendered selection
+     */
+    static String selectedText(String containerHtml) {
+        Element rendered = Jsoup.parseBodyFragment(containerHtml)
+                .selectFirst(".select2-selection__rendered,.select2-selection__choice");
+        return rendered == null ? "" : rendered.text();
+    }
+
+    /**
+     * Get texts of all chosen items of a multi-select, without the text of their remove buttons.
+     *
+     * @param containerHtml - outerHTML of the Select2 container
+     * @return chosen texts in rendering order
+     */
+    static List<String> multiSelectedTexts(String containerHtml) {
+        List<String> resultList = new ArrayList<>();
+        for (Element choice : Jsoup.parseBodyFragment(containerHtml).select(".select2-selection__choice")) {
+            Element remove = choice.selectFirst("[class*=choice__remove]");
+            String text = choice.text();
+            resultList.add((remove == null ? text : text.replace(remove.text(), "")).trim());
+        }
+        return resultList;
+    }
+
+    /**
+     * Get snapshot of all rendered results, without option group headers.
+     *
+     * @param dropdownHtml - outerHTML of the Select2 dropdown
+     * @return options in rendering order, indexed by their position among all rendered items
+     */
+    static List<Select2Option> options(String dropdownHtml) {
+        List<Select2Option> optionList = new ArrayList<>();
+        int position = -1;
+        for (Element li : Jsoup.parseBodyFragment(dropdownHtml).select(Select2.SELECT_2_RESULTS_LI)) {
+            position++;
+            if (li.hasClass("select2-results__option--load-more") || li.hasClass("loading-results")
+                    || li.selectFirst("> .select2-results__group") != null) {
+                continue;
+            }
+            Element parent = li.parent() == null ? null : li.parent().closest("li");
+            Element groupLabel = parent == null ? null : parent.selectFirst("> .select2-results__group");
+            Matcher match = RESULT_ID.matcher(li.id());
+            optionList.add(new Select2Option(position,
+                    match.find() ? match.group(1) : null,
+                    li.text().trim(),
+                    "true".equals(li.attr("aria-disabled")),
+                    "true".equals(li.attr("aria-selected")) || li.hasClass("select2-results__option--selected"),
+                    groupLabel == null ? null : groupLabel.text().trim()));
+        }
+        return optionList;
+    }
+}
@@ -0,0 +1,43 @@
+package io.eotsevych.select2;
+
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a single Select2 result option.
+ *
+ * @param index    Position of the option among the rendered results, starting from {@code 0}.
+ * @param value    Value of the underlying {@code <option>}, or {@code null} if it cannot be resolved.
+ * @param text     Visible option text.
+ * @param disabled {@code true} if the option cannot be selected.
+ * @param selected {@code true} if the option is currently selected.
+ * @param optgroup Label of the option group the option belongs to, or {@code null} if there is none.
+ */
+public record Select2Option(int index, String value, String text, boolean disabled, boolean selected,
+                            String optgroup) {
+
+    /**
+     * Creates an option from a map returned by an option snapshot script.
+     *
+     * @param index  Position of the option among the rendered results.
+     * @param option Map with {@code value}, {@code text}, {@code disabled}, {@code selected} and {@code optgroup} keys.
+     * @return The option.
+     */
+    static Select2Option fromScriptResult(int index, Map<String, Object> option) {
+        return new Select2Option(index,
+                (String) option.get("value"),
+                (String) option.get("text"),
+                Boolean.TRUE.equals(option.get("disabled")),
+                Boolean.TRUE.equals(option.get("selected")),
+                (String) option.get("optgroup"));
+    }
+
+    /**
+     * Verify option text equals the given text ignoring case.
+     *
+     * @param query - text to compare with
+     * @return {@code true} if the option text matches, {@code false} otherwise.
+     */
+    public boolean hasText(String query) {
+        return text != null && text.equalsIgnoreCase(query);
+    }
+}
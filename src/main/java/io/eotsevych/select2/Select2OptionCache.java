@@ -0,0 +1,92 @@
+package io.eotsevych.select2;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Option snapshot cache of a single Select2 element.
+ * Each snapshot is stored together with the DOM version reported by {@link Select2Scripts#OPTION_VERSION}
+ * and is served only while the version stays the same.
+ */
+final class Select2OptionCache {
+
+    /**
+     * Version reported for elements which must not be cached, e.g. AJAX-backed widgets.
+     */
+    static final long UNCACHEABLE = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Entry entry;
+
+    /**
+     * Get cached snapshot for the given DOM version.
+     *
+     * @param version current DOM version of the Select2 element
+     * @return cached snapshot, or {@code null} if there is no snapshot for this version
+     */
+    Entry get(long version) {
+        Entry current = entry;
+        if (version != UNCACHEABLE && current != null && current.version() == version) {
+            hits.incrementAndGet();
+            return current;
+        }
+        if (current != null) {
+            invalidations.incrementAndGet();
+            entry = null;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    Entry put(long version, List<Select2Option> options) {
+        Entry created = new Entry(version, options);
+        if (version != UNCACHEABLE) {
+            entry = created;
+        }
+        return created;
+    }
+
+    void invalidate() {
+        if (entry != null) {
+            invalidations.incrementAndGet();
+            entry = null;
+        }
+    }
+
+    Select2CacheStats stats() {
+        return new Select2CacheStats(hits.get(), misses.get(), invalidations.get());
+    }
+
+    /**
+     * Cached snapshot with a normalized text index.
+     */
+    static final class Entry {
+        private final long version;
+        private final List<Select2Option> options;
+        private final Select2OptionIndex index;
+
+        private Entry(long version, List<Select2Option> options) {
+            this.version = version;
+            this.options = List.copyOf(options);
+            this.index = Select2OptionIndex.of(this.options);
+        }
+
+        long version() {
+            return version;
+        }
+
+        List<Select2Option> options() {
+            return options;
+        }
+
+        Select2Option find(String text) {
+            return index.find(text);
+        }
+
+        Select2OptionIndex index() {
+            return index;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package io.eotsevych.select2;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Search index over an option snapshot, so that lookups in dropdowns with tens of thousands of options
+ * run locally instead of filtering live elements.
+ * <p>
+ * Option texts are normalized: case, diacritics and repeated or non-breaking whitespace are ignored, so
+ * {@code "Sao  Paulo"} finds {@code "São Paulo"}. Normalized keys are kept in a single sorted array, which serves
+ * exact and prefix lookups by binary search; keys which are already normalized share the option's text instance,
+ * so an index costs little more than two arrays of references and positions.
+ */
+public final class Select2OptionIndex {
+    private static final int MAX_SUGGESTION_DISTANCE = 3;
+
+    private final List<Select2Option> options;
+    private final String[] keys;
+    private final int[] positions;
+
+    private Select2OptionIndex(List<Select2Option> options) {
+        this.options = options;
+        int size = options.size();
+        String[] normalized = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            String text = options.get(i).text();
+            normalized[i] = text == null ? "" : normalize(text);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> normalized[i]));
+        keys = new String[size];
+        positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = normalized[order[i]];
+            positions[i] = order[i];
+        }
+    }
+
+    /**
+     * Build an index over options.
+     *
+     * @param options - option snapshot, e.g. {@link Select2#getOptionSnapshot(boolean...)}
+     * @return index
+     */
+    public static Select2OptionIndex of(List<Select2Option> options) {
+        return new Select2OptionIndex(List.copyOf(options));
+    }
+
+    /**
+     * Normalize an option text for comparison: lower case, without diacritics, trimmed and with single spaces.
+     *
+     * @param text - option text
+     * @return normalized text, the same instance if the text is already normalized
+     */
+    public static String normalize(String text) {
+        if (isNormalized(text)) {
+            return text;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.COMBINING_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                space = normalized.length() > 0;
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get number of indexed options.
+     *
+     * @return option count
+     */
+    public int size() {
+        return options.size();
+    }
+
+    List<Select2Option> options() {
+        return options;
+    }
+
+    /**
+     * Find an option by text. Among options with the same normalized text, an option whose text equals
+     * the query ignoring case is preferred, then the first one in the dropdown.
+     *
+     * @param text - option text
+     * @return matching option, or {@code null} if there is none
+     */
+    public Select2Option find(String text) {
+        if (text == null) {
+            return null;
+        }
+        String key = normalize(text);
+        int first = lowerBound(key);
+        for (int i = first; i < keys.length && keys[i].equals(key); i++) {
+            Select2Option option = options.get(positions[i]);
+            if (option.hasText(text)) {
+                return option;
+            }
+        }
+        return first < keys.length && keys[first].equals(key) ? options.get(positions[first]) : null;
+    }
+
+    /**
+     * Find an option by text inside an optgroup.
+     *
+     * @param optgroup - optgroup label, compared normalized
+     * @param text     - option text
+     * @return matching option, or {@code null} if there is none
+     */
+    public Select2Option find(String optgroup, String text) {
+        if (text == null) {
+            return null;
+        }
+        String key = normalize(text);
+        String group = optgroup == null ? null : normalize(optgroup);
+        for (int i = lowerBound(key); i < keys.length && keys[i].equals(key); i++) {
+            Select2Option option = options.get(positions[i]);
+            String optionGroup = option.optgroup() == null ? null : normalize(option.optgroup());
+            if (group == null ? optionGroup == null : group.equals(optionGroup)) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find options whose normalized text starts with the prefix, in the order of normalized texts.
+     *
+     * @param prefix - text prefix
+     * @param limit  - maximum number of options to return
+     * @return matching options
+     */
+    public List<Select2Option> findByPrefix(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<Select2Option> found = new ArrayList<>();
+        for (int i = lowerBound(key); i < keys.length && found.size() < limit && keys[i].startsWith(key); i++) {
+            found.add(options.get(positions[i]));
+        }
+        return found;
+    }
+
+    /**
+     * Find options whose normalized text contains the fragment, in the dropdown order.
+     *
+     * @param fragment - text fragment
+     * @param limit    - maximum number of options to return
+     * @return matching options
+     */
+    public List<Select2Option> findContaining(String fragment, int limit) {
+        String key = normalize(fragment);
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].contains(key)) {
+                found.add(positions[i]);
+            }
+        }
+        return found.stream().sorted().limit(limit).map(options::get).toList();
+    }
+
+    /**
+     * Suggest option texts close to a query which has no match: texts within a small edit distance first,
+     * then texts starting with or containing the query.
+     *
+     * @param query - text which was not found
+     * @param limit - maximum number of suggestions
+     * @return suggested option texts, closest first
+     */
+    public List<String> suggest(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return List.of();
+        }
+        String key = normalize(query);
+        int maxDistance = Math.min(MAX_SUGGESTION_DISTANCE, Math.max(1, key.length() / 3));
+        List<int[]> scored = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0 && keys[i].equals(keys[i - 1])) {
+                continue;
+            }
+            int distance = distance(key, keys[i], maxDistance);
+            if (distance <= maxDistance) {
+                scored.add(new int[]{distance, i});
+            }
+        }
+        scored.sort(Comparator.<int[]>comparingInt(score -> score[0]).thenComparingInt(score -> score[1]));
+
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (int[] score : scored) {
+            if (suggestions.size() == limit) {
+                return List.copyOf(suggestions);
+            }
+            suggestions.add(options.get(positions[score[1]]).text());
+        }
+        for (Select2Option option : findByPrefix(key, limit)) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            suggestions.add(option.text());
+        }
+        if (suggestions.size() < limit && !key.isEmpty()) {
+            for (Select2Option option : findContaining(key, limit)) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                suggestions.add(option.text());
+            }
+        }
+        return List.copyOf(suggestions);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Levenshtein distance, or {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    private static int distance(String source, String target, int max) {
+        if (Math.abs(source.length() - target.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[target.length()];
+    }
+
+    private static boolean isNormalized(String text) {
+        int length = text.length();
+        if (length > 0 && (text.charAt(0) == ' ' || text.charAt(length - 1) == ' ')) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80 || (c >= 'A' && c <= 'Z') || (c < ' ') || (c == ' ' && text.charAt(i - 1) == ' ')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,149 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Registry of all Select2 elements present on a page.
+ * The page is scanned with a single script call, which resolves every Select2-enhanced {@code <select>},
+ * its container and capabilities, so that handles for a whole form are built in one round trip.
+ */
+public final class Select2Page {
+    private final List<Select2Widget> widgets;
+    private final Map<String, Select2Widget> widgetsById = new LinkedHashMap<>();
+    private final Map<String, Select2Widget> widgetsByName = new LinkedHashMap<>();
+    private final Map<String, List<Select2Widget>> widgetsByClass = new LinkedHashMap<>();
+
+    private Select2Page(List<Select2Widget> widgets) {
+        this.widgets = Collections.unmodifiableList(widgets);
+        for (Select2Widget widget : widgets) {
+            if (widget.id() != null && !widget.id().isEmpty()) {
+                widgetsById.putIfAbsent(widget.id(), widget);
+            }
+            if (widget.name() != null && !widget.name().isEmpty()) {
+                widgetsByName.putIfAbsent(widget.name(), widget);
+            }
+            for (String cssClass : widget.cssClasses()) {
+                widgetsByClass.computeIfAbsent(cssClass, key -> new ArrayList<>()).add(widget);
+            }
+        }
+    }
+
+    /**
+     * Scan the current page for Select2 elements.
+     *
+     * @param driver - WebDriver with the page opened
+     * @return registry of discovered elements
+     */
+    public static Select2Page scan(WebDriver driver) {
+        return scan(driver, new Select2Wait(driver, Duration.of(5, ChronoUnit.SECONDS)));
+    }
+
+    /**
+     * Scan the current page for Select2 elements.
+     *
+     * @param driver        - WebDriver with the page opened
+     * @param webDriverWait - WebDriverWait shared by all discovered handles
+     * @return registry of discovered elements
+     */
+    public static Select2Page scan(WebDriver driver, WebDriverWait webDriverWait) {
+        return scan(driver, (select, container) -> new Select2(select, container, driver, webDriverWait));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Select2Page scan(WebDriver driver, BiFunction<WebElement, WebElement, Select2> handles) {
+        List<Map<String, Object>> rawWidgets = (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(Select2Scripts.PAGE_SCAN);
+        List<Select2Widget> widgets = new ArrayList<>();
+        for (Map<String, Object> rawWidget : rawWidgets) {
+            Map<String, Object> rawProfile = (Map<String, Object>) rawWidget.get("profile");
+            Select2 select2 = handles.apply((WebElement) rawWidget.get("select"), (WebElement) rawWidget.get("container"));
+            Select2Profile profile;
+            if (rawProfile != null) {
+                profile = Select2Profile.fromScriptResult(rawProfile);
+                select2.setProfile(profile);
+            } else {
+                profile = new Select2Profile(
+                        Boolean.TRUE.equals(rawWidget.get("multiple")),
+                        Boolean.TRUE.equals(rawWidget.get("search")),
+                        Boolean.TRUE.equals(rawWidget.get("ajax")));
+            }
+            widgets.add(new Select2Widget((String) rawWidget.get("id"), (String) rawWidget.get("name"),
+                    List.copyOf((List<String>) rawWidget.get("classes")), profile, select2));
+        }
+        return new Select2Page(widgets);
+    }
+
+    /**
+     * Get all discovered elements in document order.
+     *
+     * @return discovered elements
+     */
+    public List<Select2Widget> getWidgets() {
+        return widgets;
+    }
+
+    /**
+     * Get element by {@code id} attribute of the {@code <select>}.
+     *
+     * @param id - id attribute value
+     * @return element, or {@code null} if there is none
+     */
+    public Select2Widget byId(String id) {
+        return widgetsById.get(id);
+    }
+
+    /**
+     * Get element by {@code name} attribute of the {@code <select>}.
+     *
+     * @param name - name attribute value
+     * @return element, or {@code null} if there is none
+     */
+    public Select2Widget byName(String name) {
+        return widgetsByName.get(name);
+    }
+
+    /**
+     * Get elements by CSS class of the {@code <select>}.
+     *
+     * @param cssClass - CSS class without leading dot
+     * @return elements in document order, empty if there are none
+     */
+    public List<Select2Widget> byClass(String cssClass) {
+        return Collections.unmodifiableList(widgetsByClass.getOrDefault(cssClass, List.of()));
+    }
+
+    /**
+     * Get Select2 handle by CSS class of the {@code <select>}.
+     *
+     * @param cssClass - CSS class without leading dot
+     * @return handle of the first element with this class
+     * @throws IllegalArgumentException if there is no such element
+     */
+    public Select2 select2ByClass(String cssClass) {
+        List<Select2Widget> matches = byClass(cssClass);
+        if (matches.isEmpty()) {
+            throw new IllegalArgumentException("No Select2 element with class '" + cssClass + "' on the page");
+        }
+        return matches.get(0).select2();
+    }
+
+    /**
+     * Get number of discovered elements.
+     *
+     * @return element count
+     */
+    public int size() {
+        return widgets.size();
+    }
+}
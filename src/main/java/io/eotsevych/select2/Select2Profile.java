@@ -0,0 +1,88 @@
+package io.eotsevych.select2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Capabilities of a Select2 element, which do not change during its lifetime.
+ * {@link Select2} detects the profile once, with a single script call, and reuses it for every operation;
+ * profiles can be saved and preloaded with {@link Select2ProfileStore} to skip the detection in later runs.
+ *
+ * @param multiple      {@code true} for multi-select elements.
+ * @param searchField   Where the search field of the element is.
+ * @param ajax          {@code true} if the options are loaded through the AJAX data adapter.
+ * @param tags          {@code true} if the element accepts options typed by the user.
+ * @param closeOnSelect {@code true} if the dropdown closes after an option is chosen.
+ * @param resultsId     Id of the results list, or {@code null} if it is not stable across page loads.
+ */
+public record Select2Profile(boolean multiple, SearchField searchField, boolean ajax, boolean tags,
+                             boolean closeOnSelect, String resultsId) {
+
+    /**
+     * Location of the search field of a Select2 element.
+     */
+    public enum SearchField {
+        /**
+         * Inside the container, as in multi-select elements.
+         */
+        INLINE,
+        /**
+         * At the top of the opened dropdown.
+         */
+        DROPDOWN,
+        /**
+         * No visible search field, e.g. with {@code minimumResultsForSearch: Infinity}.
+         */
+        HIDDEN
+    }
+
+    /**
+     * Creates a profile with default Select2 behavior for the other capabilities: no tags, the dropdown
+     * of single-select elements closes on select, and the results list id is not known.
+     *
+     * @param multiple {@code true} for multi-select elements.
+     * @param search   {@code true} if the element has a search field.
+     * @param ajax     {@code true} if the options are loaded through the AJAX data adapter.
+     */
+    public Select2Profile(boolean multiple, boolean search, boolean ajax) {
+        this(multiple, !search ? SearchField.HIDDEN : multiple ? SearchField.INLINE : SearchField.DROPDOWN,
+                ajax, false, !multiple, null);
+    }
+
+    /**
+     * Check whether the element has a search field.
+     *
+     * @return {@code true} unless the search field is {@link SearchField#HIDDEN}
+     */
+    public boolean search() {
+        return searchField != SearchField.HIDDEN;
+    }
+
+    /**
+     * Creates a profile from a map returned by a profile script, or read by {@link Select2ProfileStore}.
+     *
+     * @param profile Map with {@code multiple}, {@code searchField}, {@code ajax}, {@code tags}, {@code closeOnSelect}
+     *                and {@code resultsId} keys.
+     * @return The profile.
+     */
+    static Select2Profile fromScriptResult(Map<String, Object> profile) {
+        return new Select2Profile(
+                Boolean.TRUE.equals(profile.get("multiple")),
+                SearchField.valueOf((String) profile.get("searchField")),
+                Boolean.TRUE.equals(profile.get("ajax")),
+                Boolean.TRUE.equals(profile.get("tags")),
+                Boolean.TRUE.equals(profile.get("closeOnSelect")),
+                (String) profile.get("resultsId"));
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("multiple", multiple);
+        profile.put("searchField", searchField.name());
+        profile.put("ajax", ajax);
+        profile.put("tags", tags);
+        profile.put("closeOnSelect", closeOnSelect);
+        profile.put("resultsId", resultsId);
+        return profile;
+    }
+}
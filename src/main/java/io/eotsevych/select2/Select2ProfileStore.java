@@ -0,0 +1,110 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Profiles of Select2 elements per page URL, which can be saved after a run and loaded in later runs,
+ * so that {@link Select2} handles skip detecting the capabilities of known elements:
+ * <pre>
+ * Select2ProfileStore store = Select2ProfileStore.load(Path.of("select2-profiles.json"));
+ * factory.preloadProfiles(store, url);
+ * ...
+ * factory.exportProfiles(store, url);
+ * store.save(Path.of("select2-profiles.json"));
+ * </pre>
+ * Elements are identified within a page by the {@code toString()} of their locator, e.g. {@code By.id: country}.
+ */
+public final class Select2ProfileStore {
+    private static final Json JSON = new Json();
+
+    private final Map<String, Map<String, Select2Profile>> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Load profiles saved by {@link #save(Path)}.
+     *
+     * @param file - JSON file
+     * @return store with the saved profiles, or an empty store if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static Select2ProfileStore load(Path file) throws IOException {
+        Select2ProfileStore store = new Select2ProfileStore();
+        if (!Files.exists(file)) {
+            return store;
+        }
+        Map<String, Object> rawPages = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+        rawPages.forEach((pageUrl, rawProfiles) -> ((Map<String, Object>) rawProfiles).forEach((widgetKey, rawProfile) ->
+                store.put(pageUrl, widgetKey, Select2Profile.fromScriptResult((Map<String, Object>) rawProfile))));
+        return store;
+    }
+
+    /**
+     * Identify an element within a page.
+     *
+     * @param locator - locator of the {@code <select>} element
+     * @return key of the element
+     */
+    public static String key(By locator) {
+        return locator.toString();
+    }
+
+    /**
+     * Save all profiles as JSON.
+     *
+     * @param file - JSON file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        Map<String, Object> rawPages = new TreeMap<>();
+        pages.forEach((pageUrl, profiles) -> {
+            Map<String, Object> rawProfiles = new TreeMap<>();
+            profiles.forEach((widgetKey, profile) -> rawProfiles.put(widgetKey, profile.toMap()));
+            rawPages.put(pageUrl, rawProfiles);
+        });
+        Files.writeString(file, JSON.toJson(rawPages), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get profiles of the elements of a page.
+     *
+     * @param pageUrl - URL of the page
+     * @return profiles by element key, empty if the page is not known
+     */
+    public Map<String, Select2Profile> getPage(String pageUrl) {
+        Map<String, Select2Profile> profiles = pages.get(pageUrl);
+        return profiles == null ? Map.of() : new LinkedHashMap<>(profiles);
+    }
+
+    /**
+     * Get the profile of an element.
+     *
+     * @param pageUrl   - URL of the page
+     * @param widgetKey - key of the element, see {@link #key(By)}
+     * @return profile, or {@code null} if the element is not known
+     */
+    public Select2Profile get(String pageUrl, String widgetKey) {
+        Map<String, Select2Profile> profiles = pages.get(pageUrl);
+        return profiles == null ? null : profiles.get(widgetKey);
+    }
+
+    /**
+     * Store the profile of an element.
+     *
+     * @param pageUrl   - URL of the page
+     * @param widgetKey - key of the element, see {@link #key(By)}
+     * @param profile   - profile of the element
+     */
+    public void put(String pageUrl, String widgetKey, Select2Profile profile) {
+        pages.computeIfAbsent(pageUrl, key -> new ConcurrentHashMap<>()).put(widgetKey, profile);
+    }
+}
@@ -0,0 +1,74 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over the rendered results of an opened Select2 dropdown, loading infinite-scroll pages on demand.
+ * Every page is read with a single script call into {@link Select2Option} snapshots; the next page is requested
+ * by scrolling the results list only when the current page is exhausted. No result WebElements are held.
+ */
+final class Select2ResultIterator implements Iterator<Select2Option> {
+    private final JavascriptExecutor executor;
+    private final WebElement selectElement;
+    private final Duration pageTimeout;
+    private List<Select2Option> page = List.of();
+    private int pagePosition;
+    private long next;
+    private boolean more = true;
+    private boolean loaded;
+
+    Select2ResultIterator(JavascriptExecutor executor, WebElement selectElement, long offset, Duration pageTimeout) {
+        this.executor = executor;
+        this.selectElement = selectElement;
+        this.next = offset;
+        this.pageTimeout = pageTimeout;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (pagePosition >= page.size()) {
+            if (loaded && !(more && loadMore())) {
+                return false;
+            }
+            readPage();
+        }
+        return true;
+    }
+
+    @Override
+    public Select2Option next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(pagePosition++);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readPage() {
+        Map<String, Object> result = (Map<String, Object>) executor.executeScript(Select2Scripts.RESULT_PAGE, selectElement, next);
+        List<Map<String, Object>> rawOptions = (List<Map<String, Object>>) result.get("options");
+        page = rawOptions.stream()
+                .map(rawOption -> Select2Option.fromScriptResult(((Number) rawOption.get("index")).intValue(), rawOption))
+                .toList();
+        pagePosition = 0;
+        next = ((Number) result.get("next")).longValue();
+        more = Boolean.TRUE.equals(result.get("more"));
+        loaded = true;
+    }
+
+    private boolean loadMore() {
+        try {
+            return Boolean.TRUE.equals(executor.executeAsyncScript(Select2Scripts.LOAD_MORE_RESULTS, selectElement, pageTimeout.toMillis()));
+        } catch (ScriptTimeoutException ex) {
+            return false;
+        }
+    }
+}
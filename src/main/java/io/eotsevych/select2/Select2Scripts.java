@@ -0,0 +1,767 @@
+package io.eotsevych.select2;
+
+/**
+ * JavaScript snippets executed inside the browser to operate Select2 elements in a single WebDriver round trip.
+ * Every script receives the hidden {@code <select>} element as {@code arguments[0]} and returns {@code null}
+ * when the page has no jQuery/Select2 instance bound to it, so that callers can fall back to the UI path.
+ */
+final class Select2Scripts {
+
+    /**
+     * Helper functions shared by all scripts.
+     */
+    static final String HELPERS = """
+            function s2Instance(select) {
+                var jq = window.jQuery;
+                if (!jq || !jq.fn || !jq.fn.select2) { return null; }
+                var instance = jq(select).data('select2');
+                return instance && instance.dataAdapter && instance.dataAdapter.item ? instance : null;
+            }
+            function s2Norm(text) {
+                return (text || '').trim().toLowerCase();
+            }
+            function s2Options(select) {
+                var result = [];
+                for (var i = 0; i < select.options.length; i++) {
+                    var option = select.options[i];
+                    if (option.value === '' && option.text.trim() === '') { continue; }
+                    result.push(option);
+                }
+                return result;
+            }
+            function s2Rendered(instance, select) {
+                var placeholder = instance.options.get('placeholder'), result = [];
+                var placeholderId = placeholder == null ? null : (typeof placeholder === 'object' ? placeholder.id : '');
+                for (var i = 0; i < select.children.length; i++) {
+                    var child = select.children[i];
+                    if (child.tagName === 'OPTGROUP') {
+                        result.push(null);
+                        for (var j = 0; j < child.children.length; j++) {
+                            if (child.children[j].tagName === 'OPTION') { result.push(child.children[j]); }
+                        }
+                    } else if (child.tagName === 'OPTION' && child.value !== placeholderId) {
+                        result.push(child);
+                    }
+                }
+                return result;
+            }
+            function s2Find(select, text) {
+                var key = s2Norm(text), options = s2Options(select);
+                for (var i = 0; i < options.length; i++) {
+                    if (s2Norm(options[i].text) === key) { return options[i]; }
+                }
+                return null;
+            }
+            function s2Disabled(option) {
+                return option.disabled || (option.parentNode.tagName === 'OPTGROUP' && option.parentNode.disabled);
+            }
+            function s2Item(instance, option) {
+                return instance.dataAdapter.item(window.jQuery(option));
+            }
+            function s2Select(instance, option) {
+                instance.trigger('select', {data: s2Item(instance, option)});
+            }
+            function s2Unselect(instance, select, options) {
+                var data = [];
+                options = options.filter(function (option) {
+                    var item = s2Item(instance, option);
+                    var unselecting = window.jQuery.Event('select2:unselecting', {params: {name: 'unselect', args: {data: item}}});
+                    window.jQuery(select).trigger(unselecting);
+                    if (unselecting.isDefaultPrevented()) { return false; }
+                    data.push(item);
+                    return true;
+                });
+                if (options.length === 0) { return; }
+                if (select.multiple) {
+                    options.forEach(function (option) { option.selected = false; });
+                } else {
+                    select.selectedIndex = -1;
+                }
+                window.jQuery(select).trigger('change');
+                data.forEach(function (item) {
+                    window.jQuery(select).trigger({type: 'select2:unselect', params: {data: item}});
+                });
+            }
+            function s2IsAjax(instance) {
+                return instance.options.get('ajax') != null;
+            }
+            function s2SelectTexts(instance, select, texts) {
+                var applied = [], missing = [], disabled = [];
+                for (var i = 0; i < texts.length; i++) {
+                    var option = s2Find(select, texts[i]);
+                    if (!option) { missing.push(texts[i]); continue; }
+                    if (s2Disabled(option)) { disabled.push(texts[i]); continue; }
+                    s2Select(instance, option);
+                    applied.push(texts[i]);
+                }
+                return {applied: applied, missing: missing, disabled: disabled};
+            }
+            function s2ArmResults(select, instance) {
+                if (select.__s2Results === undefined) {
+                    select.__s2Results = 0;
+                    select.__s2Waiters = [];
+                    var loaded = function (params) {
+                        select.__s2Term = params && params.query ? params.query.term || '' : null;
+                        select.__s2Results++;
+                        select.__s2Waiters.slice().forEach(function (waiter) { waiter(); });
+                    };
+                    instance.on('results:all', loaded);
+                    instance.on('results:append', loaded);
+                    instance.on('results:message', function () { loaded(null); });
+                }
+                return select.__s2Results;
+            }
+            function s2Prefix(select, instance, text) {
+                var term = (text || '').trim(), key = s2Norm(text);
+                if (s2IsAjax(instance)) { return term; }
+                var others = s2Options(select).map(function (o) { return s2Norm(o.text); })
+                        .filter(function (t) { return t !== key; });
+                for (var k = Math.max(1, instance.options.get('minimumInputLength') || 0); k < key.length; k++) {
+                    var prefix = key.substring(0, k);
+                    if (!others.some(function (t) { return t.indexOf(prefix) >= 0; })) { return term.substring(0, k); }
+                }
+                return term;
+            }
+            function s2IsLoadMore(li) {
+                return li.classList.contains('select2-results__option--load-more') || li.classList.contains('loading-results');
+            }
+            function s2IsGroup(li) {
+                return li.querySelector(':scope > .select2-results__group') !== null;
+            }
+            function s2Snapshot(li) {
+                var parent = li.parentNode.closest('li');
+                var groupLabel = parent ? parent.querySelector(':scope > .select2-results__group') : null;
+                var match = /-result-[0-9a-z]{4}-(.*)$/.exec(li.id || '');
+                return {
+                    text: li.innerText.trim(),
+                    value: match ? match[1] : null,
+                    disabled: li.getAttribute('aria-disabled') === 'true',
+                    selected: li.getAttribute('aria-selected') === 'true'
+                            || li.classList.contains('select2-results__option--selected'),
+                    optgroup: groupLabel ? groupLabel.textContent.trim() : null
+                };
+            }
+            function s2Profile(select, container, instance) {
+                var ajax = s2IsAjax(instance), searchField;
+                if (select.multiple) {
+                    searchField = container.querySelector('.select2-search--inline') ? 'INLINE' : 'HIDDEN';
+                } else {
+                    var minimum = instance.options.get('minimumResultsForSearch');
+                    searchField = minimum !== Infinity && (ajax || minimum < 0 || select.options.length >= minimum)
+                            ? 'DROPDOWN' : 'HIDDEN';
+                }
+                var results = instance.$results ? instance.$results[0] : null;
+                return {
+                    multiple: select.multiple,
+                    searchField: searchField,
+                    ajax: ajax,
+                    tags: !!instance.options.get('tags'),
+                    closeOnSelect: instance.options.get('closeOnSelect') !== false,
+                    resultsId: select.id && results && results.id ? results.id : null
+                };
+            }
+            function s2Results(select) {
+                var instance = s2Instance(select), root = instance && instance.$dropdown ? instance.$dropdown[0] : null;
+                if (!root) {
+                    var container = select.nextElementSibling;
+                    var owner = container && container.classList.contains('select2-container')
+                            ? container.querySelector('[aria-controls],[aria-owns]') : null;
+                    var list = owner ? document.getElementById(owner.getAttribute('aria-controls') || owner.getAttribute('aria-owns')) : null;
+                    root = list ? list.closest('.select2-dropdown') : null;
+                }
+                return root ? root.querySelectorAll('.select2-results li') : [];
+            }
+            """;
+
+    /**
+     * Selects options by text. {@code arguments[1]} is the list of texts.
+     * Returns {@code {applied: [...], missing: [...], disabled: [...]}}, disabled options are not selected.
+     */
+    static final String SELECT_BY_TEXT = HELPERS + """
+            var select = arguments[0], texts = arguments[1];
+            var instance = s2Instance(select);
+            if (!instance) { return null; }
+            return s2SelectTexts(instance, select, texts);
+            """;
+
+    /**
+     * Selects options by position among the results Select2 renders for an empty search, the same positions
+     * {@link Select2#selectByIndex(int, boolean...)} counts: optgroup headers take a position, a hidden placeholder
+     * doesn't. {@code arguments[1]} is the list of 0-based indexes. Nothing is selected unless every index points
+     * to an enabled option. Returns {@code {applied: bool, disabled: text}}, where {@code disabled} is the text
+     * of the first disabled target, and {@code null} for AJAX-backed widgets.
+     */
+    static final String SELECT_BY_INDEX = HELPERS + """
+            var select = arguments[0], indexes = arguments[1];
+            var instance = s2Instance(select);
+            if (!instance || s2IsAjax(instance)) { return null; }
+            var rendered = s2Rendered(instance, select), targets = [];
+            for (var i = 0; i < indexes.length; i++) {
+                var option = indexes[i] >= 0 && indexes[i] < rendered.length ? rendered[indexes[i]] : null;
+                if (!option) { return {applied: false, disabled: null}; }
+                if (s2Disabled(option)) { return {applied: false, disabled: option.text.trim()}; }
+                targets.push(option);
+            }
+            targets.forEach(function (target) { s2Select(instance, target); });
+            return {applied: true, disabled: null};
+            """;
+
+    /**
+     * Reads text and disabled state of the option matching {@code arguments[1]}.
+     * Returns {@code {found: bool, disabled: bool, ajax: bool, texts: [...]}}.
+     */
+    static final String FIND_OPTION = HELPERS + """
+            var select = arguments[0], text = arguments[1];
+            var instance = s2Instance(select);
+            if (!instance) { return null; }
+            var option = s2Find(select, text);
+            return {
+                found: option != null,
+                disabled: option != null && s2Disabled(option),
+                ajax: s2IsAjax(instance),
+                texts: s2Options(select).map(function (o) { return o.text.trim(); })
+            };
+            """;
+
+    /**
+     * Returns texts of all options, or {@code null} for AJAX-backed widgets.
+     */
+    static final String OPTION_TEXTS = HELPERS + """
+            var select = arguments[0];
+            var instance = s2Instance(select);
+            if (!instance || s2IsAjax(instance)) { return null; }
+            return s2Options(select).map(function (o) { return o.text.trim(); });
+            """;
+
+    /**
+     * Returns texts of selected options, and the placeholder text when nothing is selected.
+     * Returns {@code {selected: [...], placeholder: string}}.
+     */
+    static final String SELECTED_TEXTS = HELPERS + """
+            var select = arguments[0];
+            var instance = s2Instance(select);
+            if (!instance) { return null; }
+            var selected = s2Options(select).filter(function (o) { return o.selected; })
+                    .map(function (o) { return o.text.trim(); });
+            var placeholder = instance.$container.find('.select2-selection__placeholder').text().trim();
+            return {selected: selected, placeholder: placeholder};
+            """;
+
+    /**
+     * Deselects options by text in one pass with a single {@code change} event, followed by a
+     * {@code select2:unselect} event per removed option. Every option is announced with the preventable
+     * {@code select2:unselecting} event first, and options whose removal the page prevents stay selected.
+     * {@code arguments[1]} is the list of texts, when {@code null} all selected options are deselected.
+     * Returns {@code {removed: [...], missing: [...], remaining: [...], rendered: [...], texts: [...]}}, where removed
+     * are the texts requested to be deselected, remaining are the texts Select2 still reports as selected
+     * ({@code $(select).select2('data')}) once the change has been processed, rendered are the texts of the choices
+     * still shown by the container and texts are all option texts.
+     */
+    static final String UNSELECT_BY_TEXT = HELPERS + """
+            var select = arguments[0], texts = arguments[1];
+            var instance = s2Instance(select);
+            if (!instance) { return null; }
+            var missing = [], targets = [];
+            if (texts == null) {
+                targets = s2Options(select).filter(function (o) { return o.selected; });
+            } else {
+                for (var i = 0; i < texts.length; i++) {
+                    var option = s2Find(select, texts[i]);
+                    if (!option || !option.selected) { missing.push(texts[i]); } else { targets.push(option); }
+                }
+            }
+            s2Unselect(instance, select, targets);
+            var text = function (o) { return (o.text || '').trim(); };
+            var rendered = instance.$container.find('.select2-selection__choice').toArray().map(function (choice) {
+                var remove = choice.querySelector('[class*=choice__remove]');
+                return (choice.getAttribute('title') || choice.textContent.replace(remove ? remove.textContent : '', '')).trim();
+            });
+            return {
+                removed: targets.map(text),
+                missing: missing,
+                remaining: window.jQuery(select).select2('data').filter(function (item) { return item.id !== ''; }).map(text),
+                rendered: rendered,
+                texts: s2Options(select).map(text)
+            };
+            """;
+
+    /**
+     * Reads text, value, disabled/selected state and option group of every rendered result, skipping
+     * the "loading more" item of infinite-scroll results and the headers of option groups, whose nested results are read instead.
+     * Returns a list of {@code {index, text, value, disabled, selected, optgroup}} maps in rendering order,
+     * {@code index} being the position of the result among all rendered items.
+     */
+    static final String OPTION_SNAPSHOT = HELPERS + """
+            var items = s2Results(arguments[0]), result = [];
+            for (var i = 0; i < items.length; i++) {
+                if (s2IsLoadMore(items[i]) || s2IsGroup(items[i])) { continue; }
+                var option = s2Snapshot(items[i]);
+                option.index = i;
+                result.push(option);
+            }
+            return result;
+            """;
+
+    /**
+     * Reads the selection state of the {@code <option>} behind the rendered result at position {@code arguments[1]},
+     * resolved through the value encoded in the result id. Returns {@code {selected, multiple, value, values}},
+     * where {@code values} are the values of all selected options, or {@code null} if the result or its option
+     * cannot be resolved.
+     */
+    static final String RESULT_SELECTED = HELPERS + """
+            var select = arguments[0], item = s2Results(select)[arguments[1]];
+            var match = item ? /-result-[0-9a-z]{4}-(.*)$/.exec(item.id || '') : null;
+            if (!match) { return null; }
+            var values = [], found = null;
+            for (var i = 0; i < select.options.length; i++) {
+                if (select.options[i].selected) { values.push(select.options[i].value); }
+                if (!found && select.options[i].value === match[1]) { found = select.options[i]; }
+            }
+            return found ? {selected: found.selected, multiple: select.multiple, value: match[1], values: values} : null;
+            """;
+
+    /**
+     * Returns the position of the rendered result whose id encodes the option value {@code arguments[1]},
+     * or {@code -1} if no such result is rendered.
+     */
+    static final String RESULT_INDEX = HELPERS + """
+            var results = s2Results(arguments[0]);
+            for (var i = 0; i < results.length; i++) {
+                var match = results[i] ? /-result-[0-9a-z]{4}-(.*)$/.exec(results[i].id || '') : null;
+                if (match && match[1] === arguments[1]) { return i; }
+            }
+            return -1;
+            """;
+
+    /**
+     * Returns the values of the selected options of the {@code <select>} {@code arguments[0]}.
+     */
+    static final String SELECTED_VALUES = """
+            var values = [];
+            for (var i = 0; i < arguments[0].options.length; i++) {
+                if (arguments[0].options[i].selected) { values.push(arguments[0].options[i].value); }
+            }
+            return values;
+            """;
+
+    /**
+     * Selects exactly the options whose values are listed in {@code arguments[1]}, undoing a choice which
+     * was made by mistake. A {@code change} event is dispatched only if the selection changed, so that Select2
+     * re-renders it.
+     */
+    static final String RESTORE_SELECTION = """
+            var select = arguments[0], values = arguments[1], changed = false;
+            for (var i = 0; i < select.options.length; i++) {
+                var selected = values.indexOf(select.options[i].value) >= 0;
+                if (select.options[i].selected !== selected) {
+                    select.options[i].selected = selected;
+                    changed = true;
+                }
+            }
+            if (changed) { select.dispatchEvent(new Event('change', {bubbles: true})); }
+            return changed;
+            """;
+
+    /**
+     * Returns the rendered result element at position {@code arguments[1]}, or {@code null} if there is no such result.
+     * Results are read from the dropdown of this element only, found through its Select2 instance or through
+     * the {@code aria-controls}/{@code aria-owns} link of its container, never from another element's dropdown.
+     */
+    static final String RESULT_ELEMENT = HELPERS + """
+            return s2Results(arguments[0])[arguments[1]] || null;
+            """;
+
+    /**
+     * Reads the same data as {@link #OPTION_SNAPSHOT} from the underlying {@code <option>} elements
+     * without rendering the results. Returns {@code null} for AJAX-backed widgets.
+     */
+    static final String NATIVE_OPTION_SNAPSHOT = HELPERS + """
+            var select = arguments[0];
+            var instance = s2Instance(select);
+            if (!instance || s2IsAjax(instance)) { return null; }
+            return s2Options(select).map(function (o) {
+                var group = o.parentNode.tagName === 'OPTGROUP' ? o.parentNode.label : null;
+                return {text: o.text.trim(), value: o.value, disabled: s2Disabled(o), selected: o.selected, optgroup: group};
+            });
+            """;
+
+    /**
+     * Installs a MutationObserver on the {@code <select>} and its results container that increments a DOM
+     * version counter on every change, and returns the current version.
+     * Returns {@code -1} for AJAX-backed widgets, whose options depend on the search term.
+     */
+    static final String OPTION_VERSION = HELPERS + """
+            var select = arguments[0];
+            var instance = s2Instance(select);
+            if (select.__s2Version === undefined) {
+                select.__s2Version = 0;
+                select.__s2Bump = function () { select.__s2Version++; };
+                new MutationObserver(select.__s2Bump).observe(select,
+                        {childList: true, subtree: true, attributes: true, characterData: true});
+                select.addEventListener('change', select.__s2Bump);
+                if (window.jQuery) { window.jQuery(select).on('change.s2cache', select.__s2Bump); }
+            }
+            if (instance && s2IsAjax(instance)) { return -1; }
+            var results = instance && instance.$results ? instance.$results[0] : null;
+            if (results && !results.__s2Observed) {
+                results.__s2Observed = true;
+                new MutationObserver(select.__s2Bump).observe(results, {childList: true, subtree: true});
+            }
+            return select.__s2Version;
+            """;
+
+    /**
+     * Finds every Select2-enhanced {@code <select>} of the page together with its container and capabilities.
+     * Returns a list of {@code {select, container, id, name, classes, multiple, search, ajax, profile}} maps,
+     * {@code profile} being {@code null} when the element has no Select2 instance.
+     */
+    static final String PAGE_SCAN = HELPERS + """
+            var result = [];
+            var selects = document.querySelectorAll('select.select2-hidden-accessible');
+            for (var i = 0; i < selects.length; i++) {
+                var select = selects[i], container = null;
+                if (select.nextElementSibling && select.nextElementSibling.classList.contains('select2')) {
+                    container = select.nextElementSibling;
+                } else {
+                    for (var el = select.parentNode.firstElementChild; el; el = el.nextElementSibling) {
+                        if (el.tagName === 'SPAN') { container = el; break; }
+                    }
+                }
+                if (!container) { continue; }
+                var instance = s2Instance(select);
+                var ajax = instance != null && s2IsAjax(instance);
+                var search = select.multiple;
+                if (!select.multiple) {
+                    var minimum = instance ? instance.options.get('minimumResultsForSearch') : 0;
+                    search = minimum !== Infinity && (ajax || minimum < 0 || select.options.length >= minimum);
+                }
+                result.push({
+                    select: select,
+                    container: container,
+                    id: select.id || null,
+                    name: select.getAttribute('name'),
+                    classes: Array.prototype.filter.call(select.classList, function (c) { return c !== 'select2-hidden-accessible'; }),
+                    multiple: select.multiple,
+                    search: search,
+                    ajax: ajax,
+                    profile: instance ? s2Profile(select, container, instance) : null
+                });
+            }
+            return result;
+            """;
+
+    /**
+     * Detects the capabilities of the Select2 element with the container {@code arguments[1]}.
+     * Returns {@code {multiple, searchField, ajax, tags, closeOnSelect, resultsId}}, or {@code null} if the page
+     * has no Select2 instance.
+     */
+    static final String PROFILE = HELPERS + """
+            var select = arguments[0];
+            var instance = s2Instance(select);
+            return instance ? s2Profile(select, arguments[1], instance) : null;
+            """;
+
+    /**
+     * Installs Select2 listeners counting completed result loads ({@code results:all}, {@code results:append}
+     * and {@code results:message}, e.g. loading errors) and returns the current count.
+     * Returns {@code null} when there is no Select2 instance, so that callers can fall back to polling.
+     */
+    static final String ARM_RESULTS = HELPERS + """
+            var select = arguments[0];
+            var instance = s2Instance(select);
+            return instance ? s2ArmResults(select, instance) : null;
+            """;
+
+    /**
+     * Asynchronous script waiting until results for the term {@code arguments[2]} are loaded after the count
+     * {@code arguments[1]} returned by {@link #ARM_RESULTS}. Waits at most {@code arguments[3]} milliseconds
+     * plus the configured {@code ajax.delay}. Calls back with the number of result loads since
+     * {@code arguments[1]} as soon as the matching load event fires. Loads for other terms, e.g. late responses
+     * to earlier keystrokes, do not end the wait; if no matching load fires before the timeout, calls back
+     * with {@code -1}, so that loads of another term are never reported as the fetches of this one.
+     */
+    static final String AWAIT_RESULTS = HELPERS + """
+            var select = arguments[0], seen = arguments[1], term = arguments[2], timeout = arguments[3];
+            var done = arguments[arguments.length - 1];
+            var instance = s2Instance(select);
+            var ajax = instance ? instance.options.get('ajax') : null;
+            var timer = null;
+            var finish = function (count) {
+                clearTimeout(timer);
+                select.__s2Waiters.splice(select.__s2Waiters.indexOf(check), 1);
+                done(count);
+            };
+            var check = function () {
+                if (select.__s2Results > seen && (select.__s2Term === null || select.__s2Term === term)) {
+                    finish(select.__s2Results - seen);
+                }
+            };
+            select.__s2Waiters.push(check);
+            timer = setTimeout(function () { finish(-1); }, timeout + (ajax && ajax.delay ? ajax.delay : 0));
+            check();
+            """;
+
+    /**
+     * Types a search term into the search field {@code arguments[1]} with a single {@code input} event.
+     * For static widgets the term is the shortest prefix of {@code arguments[2]} which matches no other option
+     * and respects {@code minimumInputLength}, AJAX-backed widgets get the full text. Installs the listeners of
+     * {@link #ARM_RESULTS} before typing. Returns {@code {term, loads}}, where loads is the result load count
+     * before typing, or {@code null} when there is no Select2 instance.
+     */
+    static final String TYPE_SEARCH = HELPERS + """
+            var select = arguments[0], field = arguments[1];
+            var instance = s2Instance(select);
+            if (!instance) { return null; }
+            var loads = s2ArmResults(select, instance);
+            var term = s2Prefix(select, instance, arguments[2]);
+            field.value = term;
+            field.dispatchEvent(new Event('input', {bubbles: true}));
+            return {term: term, loads: loads};
+            """;
+
+    /**
+     * Reads rendered results starting from position {@code arguments[1]}, skipping the "loading more" item.
+     * Returns {@code {options: [...], next: int, more: bool}}, where every option carries its rendered
+     * position as {@code index}, {@code next} is the position where the next page will start and {@code more}
+     * tells whether the element has more pages to load.
+     */
+    static final String RESULT_PAGE = HELPERS + """
+            var items = s2Results(arguments[0]), options = [], next = items.length, more = false;
+            for (var i = arguments[1]; i < items.length; i++) {
+                if (s2IsLoadMore(items[i])) {
+                    more = true;
+                    next = Math.min(next, i);
+                    continue;
+                }
+                if (s2IsGroup(items[i])) { continue; }
+                var option = s2Snapshot(items[i]);
+                option.index = i;
+                options.push(option);
+            }
+            return {options: options, next: next, more: more};
+            """;
+
+    /**
+     * Asynchronous script scrolling the results list to the bottom to make Select2 load the next page.
+     * Waits at most {@code arguments[1]} milliseconds for {@code results:append} and calls back with
+     * {@code true} when the page is appended, {@code false} otherwise.
+     */
+    static final String LOAD_MORE_RESULTS = HELPERS + """
+            var select = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];
+            var instance = s2Instance(select);
+            var list = instance && instance.$results ? instance.$results[0] : null;
+            if (!list) { done(false); return; }
+            var seen = s2ArmResults(select, instance), timer = null;
+            var finish = function (loaded) {
+                clearTimeout(timer);
+                select.__s2Waiters.splice(select.__s2Waiters.indexOf(check), 1);
+                done(loaded);
+            };
+            var check = function () {
+                if (select.__s2Results > seen) { finish(true); }
+            };
+            select.__s2Waiters.push(check);
+            timer = setTimeout(function () { finish(false); }, timeout);
+            list.scrollTop = list.scrollHeight;
+            window.jQuery(list).trigger('scroll');
+            """;
+
+    /**
+     * Resolves the id of the results list of the Select2 element, from the Select2 instance or from the
+     * {@code aria-controls}/{@code aria-owns} links and the rendered selection id of the container
+     * {@code arguments[1]}. Returns {@code null} when the id cannot be resolved.
+     */
+    static final String RESULTS_ID = HELPERS + """
+            var select = arguments[0], container = arguments[1];
+            var instance = s2Instance(select);
+            if (instance && instance.$results && instance.$results[0].id) { return instance.$results[0].id; }
+            var owner = container.querySelector('[aria-controls],[aria-owns]');
+            if (owner) { return owner.getAttribute('aria-controls') || owner.getAttribute('aria-owns'); }
+            var rendered = container.querySelector('.select2-selection__rendered[id]');
+            return rendered ? rendered.id.replace(/-container$/, '-results') : null;
+            """;
+
+    /**
+     * Selects ({@code arguments[2]} is {@code true}) or deselects options of the {@code <select>} by the values
+     * {@code arguments[1]} without opening the dropdown, and fires a single {@code change} event, which Select2
+     * listens to. Nothing is changed when a value is missing or belongs to a disabled option.
+     * Returns {@code {missing: [...], values: [...], disabled: [...]}} with all option values when a value is missing,
+     * the values of disabled options in {@code disabled}, or
+     * {@code {invalid: message}} without changing anything when a single select is asked to deselect or to select several values.
+     */
+    static final String SET_BY_VALUE = HELPERS + """
+            var select = arguments[0], values = arguments[1], selected = arguments[2];
+            if (!select.multiple && !selected) {
+                return {invalid: 'Options of a single select cannot be deselected by value, use removeSelectedOption()'};
+            }
+            if (!select.multiple && values.length > 1) {
+                return {invalid: 'A single select cannot select ' + values.length + ' values'};
+            }
+            var byValue = {}, targets = [], missing = [], disabled = [];
+            for (var i = 0; i < select.options.length; i++) {
+                if (!(select.options[i].value in byValue)) { byValue[select.options[i].value] = select.options[i]; }
+            }
+            for (var j = 0; j < values.length; j++) {
+                var option = byValue.hasOwnProperty(values[j]) ? byValue[values[j]] : null;
+                if (!option) { missing.push(values[j]); } else if (s2Disabled(option)) { disabled.push(values[j]); } else { targets.push(option); }
+            }
+            if (missing.length > 0 || disabled.length > 0) {
+                return {missing: missing, values: missing.length > 0 ? Object.keys(byValue) : [], disabled: disabled};
+            }
+            var changed = false;
+            for (var k = 0; k < targets.length; k++) {
+                if (targets[k].selected !== selected) {
+                    targets[k].selected = selected;
+                    changed = true;
+                }
+            }
+            if (changed) { select.dispatchEvent(new Event('change', {bubbles: true})); }
+            return {missing: [], values: [], disabled: []};
+            """;
+
+    /**
+     * Clicks the remove button of every rendered choice of the container {@code arguments[0]} in one pass. Select2
+     * re-renders the choices after each removal, so the first remaining choice is looked up again inside the script,
+     * and the pass stops as soon as a click removes nothing. Works without jQuery. Returns the number of choices left.
+     */
+    static final String REMOVE_CHOICES = """
+            var container = arguments[0], previous = -1;
+            var choices = container.querySelectorAll('.select2-selection__choice');
+            while (choices.length > 0 && choices.length !== previous) {
+                var remove = choices[0].querySelector('[class*=choice__remove]');
+                if (!remove) { break; }
+                previous = choices.length;
+                remove.click();
+                choices = container.querySelectorAll('.select2-selection__choice');
+            }
+            return choices.length;
+            """;
+
+    /**
+     * Selects options by text in many Select2 elements. {@code arguments[0]} is a list of
+     * {@code {selector, element, texts}} entries, where the {@code <select>} is either the given element
+     * or the first match of the CSS selector. Returns a list of {@code {status, element, multiple, applied, missing, replaced, disabled}}
+     * maps in the same order, where status is {@code APPLIED}, {@code FALLBACK} (AJAX-backed or no Select2
+     * instance) or {@code NOT_FOUND}, {@code replaced} lists selected texts a single select dropped for the last one and {@code disabled}
+     * lists texts of disabled options, which are not selected.
+     */
+    static final String BATCH_SELECT_BY_TEXT = HELPERS + """
+            var entries = arguments[0], result = [];
+            for (var i = 0; i < entries.length; i++) {
+                var entry = entries[i];
+                var select = entry.element || (entry.selector ? document.querySelector(entry.selector) : null);
+                if (!select || select.tagName !== 'SELECT') {
+                    result.push({status: 'NOT_FOUND', element: null, applied: [], missing: entry.texts, replaced: [], disabled: []});
+                    continue;
+                }
+                var instance = s2Instance(select);
+                if (!instance || s2IsAjax(instance)) {
+                    result.push({status: 'FALLBACK', element: select, multiple: select.multiple, applied: [], missing: [], replaced: [], disabled: []});
+                    continue;
+                }
+                var applied = s2SelectTexts(instance, select, entry.texts);
+                var replaced = select.multiple ? [] : applied.applied.slice(0, -1);
+                result.push({status: 'APPLIED', element: select, applied: applied.applied.slice(replaced.length),
+                        missing: applied.missing, replaced: replaced, disabled: applied.disabled});
+            }
+            return result;
+            """;
+
+    /**
+     * Opens or closes the dropdown through the Select2 API. {@code arguments[1]} is {@code 'open'} or {@code 'close'}.
+     * Returns {@code true}, or {@code null} if the page has no Select2 instance.
+     */
+    static final String TOGGLE_DROPDOWN = HELPERS + """
+            var select = arguments[0];
+            if (!s2Instance(select)) { return null; }
+            window.jQuery(select).select2(arguments[1]);
+            return true;
+            """;
+
+    /**
+     * Chooses the rendered result at position {@code arguments[1]} by dispatching the {@code mouseup} event
+     * Select2 listens to, without pointer actions. Returns {@code true}, {@code false} if there is no such result,
+     * or {@code null} if the page has no Select2 instance.
+     */
+    static final String CHOOSE_RESULT = HELPERS + """
+            var select = arguments[0];
+            if (!s2Instance(select)) { return null; }
+            var item = s2Results(select)[arguments[1]];
+            if (!item) { return false; }
+            item.dispatchEvent(new MouseEvent('mouseup', {bubbles: true, cancelable: true, view: window}));
+            return true;
+            """;
+
+    /**
+     * Resolves the element receiving keystrokes of the Select2 element: the focused element if it belongs
+     * to the container ({@code arguments[1]}) or the dropdown, otherwise the inline search field or the selection.
+     * When {@code arguments[2]} is a result position, also counts the arrow key presses moving the highlight
+     * from the highlighted result to it. Returns {@code {target, moves}}, {@code moves} being {@code null}
+     * if the result cannot be highlighted.
+     */
+    static final String KEYBOARD_TARGET = HELPERS + """
+            var select = arguments[0], container = arguments[1], position = arguments[2];
+            var items = s2Results(select);
+            var dropdown = items.length > 0 ? items[0].closest('.select2-dropdown') : null;
+            var active = document.activeElement;
+            var target = active && (container.contains(active) || (dropdown && dropdown.contains(active))) ? active
+                    : container.querySelector('.select2-search--inline .select2-search__field') || container.querySelector('.select2-selection');
+            if (position < 0 || !items[position]) { return {target: target, moves: null}; }
+            var modern = dropdown && dropdown.querySelector('.select2-results__option--selectable') !== null;
+            var selectable = function (li) {
+                return modern ? li.classList.contains('select2-results__option--selectable')
+                        : li.hasAttribute('aria-selected') && li.getAttribute('aria-disabled') !== 'true';
+            };
+            var from = -1, to = -1, count = 0;
+            for (var i = 0; i < items.length; i++) {
+                if (s2IsLoadMore(items[i]) || !selectable(items[i])) { continue; }
+                if (items[i].classList.contains('select2-results__option--highlighted')) { from = count; }
+                if (i === position) { to = count; }
+                count++;
+            }
+            return {target: target, moves: to < 0 ? null : to - from};
+            """;
+
+    /**
+     * Captures failure diagnostics of a Select2 element in one call. {@code arguments[1]} is the maximum number
+     * of option texts, {@code arguments[2]} the maximum length of captured HTML ({@code -1} for no limit) and
+     * {@code arguments[3]} whether to capture the dropdown. Returns {@code {optionCount, options, selected,
+     * results, open, parentHtml, dropdownHtml}}.
+     */
+    static final String DIAGNOSTIC_SNAPSHOT = """
+            var select = arguments[0], optionLimit = arguments[1], htmlLimit = arguments[2], full = arguments[3];
+            function cut(html) {
+                return html == null || htmlLimit < 0 || html.length <= htmlLimit ? html : html.substring(0, htmlLimit);
+            }
+            function texts(nodes) {
+                var result = [];
+                for (var i = 0; i < nodes.length && result.length < optionLimit; i++) {
+                    result.push(nodes[i].textContent.trim());
+                }
+                return result;
+            }
+            var options = select.options || [];
+            var selected = [];
+            for (var i = 0; i < options.length; i++) {
+                if (options[i].selected) { selected.push(options[i].text.trim()); }
+            }
+            var container = select.nextElementSibling;
+            var open = !!(container && container.classList.contains('select2-container--open'));
+            var jq = window.jQuery;
+            var instance = jq && jq.fn && jq.fn.select2 ? jq(select).data('select2') : null;
+            var dropdown = instance && instance.$dropdown ? instance.$dropdown[0] : null;
+            var results = dropdown && open ? dropdown.querySelectorAll('.select2-results__option') : [];
+            return {
+                optionCount: options.length,
+                options: texts(options),
+                selected: selected,
+                results: texts(results),
+                open: open,
+                parentHtml: select.parentNode ? cut(select.parentNode.innerHTML) : null,
+                dropdownHtml: full && dropdown && open ? cut(dropdown.outerHTML) : null
+            };
+            """;
+
+    private Select2Scripts() {
+    }
+}
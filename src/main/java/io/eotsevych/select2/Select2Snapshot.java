@@ -0,0 +1,53 @@
+package io.eotsevych.select2;
+
+import io.eotsevych.select2.exceptions.Select2FailureState;
+
+import java.util.List;
+
+/**
+ * State of a Select2 element captured by {@link Select2Diagnostics} when an operation failed.
+ * Texts and HTML are limited according to the {@link DiagnosticsLevel} the snapshot was captured with.
+ *
+ * @param level        Level the snapshot was captured with.
+ * @param optionCount  Number of options in the {@code <select>}.
+ * @param options      Texts of the first options of the {@code <select>}.
+ * @param selected     Texts of the selected options.
+ * @param results      Texts of the first result rows of the opened dropdown.
+ * @param open         Whether the dropdown was open.
+ * @param parentHtml   Inner HTML of the {@code <select>} parent, possibly truncated.
+ * @param dropdownHtml Outer HTML of the opened dropdown, captured at {@link DiagnosticsLevel#FULL} only.
+ */
+public record Select2Snapshot(DiagnosticsLevel level, int optionCount, List<String> options, List<String> selected,
+                              List<String> results, boolean open, String parentHtml, String dropdownHtml)
+        implements Select2FailureState {
+
+    /**
+     * Render the snapshot for an exception message.
+     *
+     * @param maxLength - maximum length of the text
+     * @return snapshot description, at most {@code maxLength} characters long
+     */
+    @Override
+    public String render(int maxLength) {
+        StringBuilder text = new StringBuilder();
+        text.append("options: ").append(optionCount).append(' ')
+                .append(Select2Diagnostics.abbreviate(options, optionCount))
+                .append(", selected: ").append(selected)
+                .append(", open: ").append(open);
+        if (open) {
+            text.append(", results: ").append(results);
+        }
+        if (parentHtml != null) {
+            text.append("\nparent: ").append(parentHtml);
+        }
+        if (dropdownHtml != null) {
+            text.append("\ndropdown: ").append(dropdownHtml);
+        }
+        return Select2Diagnostics.abbreviate(text.toString(), maxLength);
+    }
+
+    @Override
+    public String toString() {
+        return render(Select2Diagnostics.getMaxMessageLength());
+    }
+}
@@ -0,0 +1,199 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * WebDriverWait with adaptive polling, used by Select2 when no wait is supplied.
+ * Conditions waited for with {@link #until(String, Function)} are checked immediately, then after a short interval
+ * which doubles after every unsuccessful check up to the maximum polling interval, so a dropdown opening in 30 ms
+ * is detected after a few milliseconds, while a slow page is polled no more often than with a fixed interval
+ * after the first few checks.
+ * <p>
+ * The latency of every condition type (e.g. {@code open} or {@code load}) is tracked per wait as an exponentially
+ * weighted moving average, and the first interval is derived from it, so conditions which take long get fewer early polls.
+ * Share one wait per driver, e.g. through {@link Select2Factory}, so that a slow grid node does not tune the waits
+ * of other sessions. The timeout, message and ignored exceptions configured with the {@link FluentWait} methods apply
+ * to both {@code until} methods; {@link #until(Function)} polls at the fixed {@link #pollingEvery interval} as usual.
+ */
+public class Select2Wait extends WebDriverWait {
+    /**
+     * Condition key of waiting for the dropdown to open.
+     */
+    public static final String OPEN = "open";
+    /**
+     * Condition key of waiting for the loading indicator of search results to appear.
+     */
+    public static final String LOADING = "loading";
+    /**
+     * Condition key of waiting for search results to load.
+     */
+    public static final String LOAD = "load";
+
+    private static final Duration DEFAULT_MIN_POLLING = Duration.of(5, ChronoUnit.MILLIS);
+    private static final Duration DEFAULT_MAX_POLLING = Duration.of(500, ChronoUnit.MILLIS);
+    private static final double ALPHA = 0.3;
+
+    private final Map<String, Long> observedNanos = new ConcurrentHashMap<>();
+    private final WebDriver driver;
+    private final long minPollingNanos;
+    // set by the WebDriverWait constructor through the overridden FluentWait methods, so they have no initializers
+    private Duration timeout;
+    private long maxPollingNanos;
+    private List<Class<? extends Throwable>> ignoredExceptions;
+    private Supplier<String> messageSupplier;
+
+    /**
+     * Create wait polling between 5 and 500 ms.
+     *
+     * @param driver  - driver passed to the conditions
+     * @param timeout - how long to wait for a condition
+     */
+    public Select2Wait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, DEFAULT_MIN_POLLING, DEFAULT_MAX_POLLING);
+    }
+
+    /**
+     * Create wait with custom polling bounds.
+     *
+     * @param driver     - driver passed to the conditions
+     * @param timeout    - how long to wait for a condition
+     * @param minPolling - shortest interval between two checks
+     * @param maxPolling - longest interval between two checks
+     */
+    public Select2Wait(WebDriver driver, Duration timeout, Duration minPolling, Duration maxPolling) {
+        super(driver, timeout, maxPolling);
+        this.driver = driver;
+        this.minPollingNanos = minPolling.toNanos();
+        this.maxPollingNanos = Math.max(minPollingNanos, maxPolling.toNanos());
+    }
+
+    /**
+     * Get the observed latency of a condition type.
+     *
+     * @param condition - condition key, e.g. {@link #OPEN} or {@link #LOAD}
+     * @return moving average of the time until the condition was met with this wait, or {@code null} if it was never met
+     */
+    public Duration getObservedLatency(String condition) {
+        Long nanos = observedNanos.get(condition);
+        return nanos == null ? null : Duration.ofNanos(nanos);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return super.withTimeout(timeout);
+    }
+
+    /**
+     * Set the fixed interval of {@link #until(Function)}, which is also the longest interval of adaptive polling.
+     */
+    @Override
+    public FluentWait<WebDriver> pollingEvery(Duration interval) {
+        this.maxPollingNanos = Math.max(minPollingNanos, interval.toNanos());
+        return super.pollingEvery(interval);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withMessage(String message) {
+        this.messageSupplier = () -> message;
+        return super.withMessage(message);
+    }
+
+    @Override
+    public FluentWait<WebDriver> withMessage(Supplier<String> messageSupplier) {
+        this.messageSupplier = messageSupplier;
+        return super.withMessage(messageSupplier);
+    }
+
+    @Override
+    public <K extends Throwable> FluentWait<WebDriver> ignoreAll(Collection<Class<? extends K>> types) {
+        if (ignoredExceptions == null) {
+            ignoredExceptions = new ArrayList<>();
+        }
+        ignoredExceptions.addAll(types);
+        return super.ignoreAll(types);
+    }
+
+    /**
+     * Wait for a condition, tuning the polling by the latency observed for the condition key.
+     *
+     * @param condition - condition key, e.g. {@link #OPEN} or {@link #LOAD}
+     * @param isTrue    - condition which is met when it returns neither {@code null} nor {@code false}
+     * @param <V>       - type of the condition result
+     * @return condition result
+     * @throws org.openqa.selenium.TimeoutException if the timeout expires
+     */
+    public <V> V until(String condition, Function<? super WebDriver, V> isTrue) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = firstInterval(condition);
+        Throwable lastException = null;
+        while (true) {
+            try {
+                V value = isTrue.apply(driver);
+                if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+                    observe(condition, System.nanoTime() - start);
+                    return value;
+                }
+                lastException = null;
+            } catch (Throwable ex) {
+                if (!isIgnored(ex)) {
+                    throw ex;
+                }
+                lastException = ex;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                String message = messageSupplier == null ? null : messageSupplier.get();
+                throw timeoutException(String.format("Expected condition failed: %s (tried for %d ms with adaptive polling)",
+                        message == null ? "waiting for " + isTrue : message, timeout.toMillis()), lastException);
+            }
+            sleep(Math.min(interval, remaining));
+            interval = Math.min(interval * 2, maxPollingNanos);
+        }
+    }
+
+    private boolean isIgnored(Throwable ex) {
+        if (ignoredExceptions != null) {
+            for (Class<? extends Throwable> type : ignoredExceptions) {
+                if (type.isInstance(ex)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long firstInterval(String condition) {
+        Long observed = observedNanos.get(condition);
+        long interval = observed == null ? minPollingNanos : observed / 4;
+        return Math.max(minPollingNanos, Math.min(interval, maxPollingNanos));
+    }
+
+    private void observe(String condition, long nanos) {
+        observedNanos.merge(condition, nanos, (average, sample) -> (long) (average + ALPHA * (sample - average)));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.eotsevych.select2;
+
+import java.util.List;
+
+/**
+ * Select2 element discovered by {@link Select2Page#scan}.
+ *
+ * @param id         Value of the {@code id} attribute of the {@code <select>}, or {@code null} if there is none.
+ * @param name       Value of the {@code name} attribute of the {@code <select>}, or {@code null} if there is none.
+ * @param cssClasses CSS classes of the {@code <select>}, except the ones added by Select2.
+ * @param profile    Capabilities of the element.
+ * @param select2    Handle to interact with the element.
+ */
+public record Select2Widget(String id, String name, List<String> cssClasses, Select2Profile profile, Select2 select2) {
+}
@@ -7,6 +7,7 @@ package io.eotsevych.select2.exceptions;
  */
 public class OptionIsNotSelectedException extends RuntimeException {
     private static final String DEFAULT_MESSAGE = "Option '%s' is not selected";
+    private static final long serialVersionUID = 1L;
 
     /**
      * Constructs an OptionIsNotSelectedException.
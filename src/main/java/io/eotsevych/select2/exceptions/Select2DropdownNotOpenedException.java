@@ -5,10 +5,16 @@ import org.openqa.selenium.WebElement;
 /**
  * Exception thrown when attempting to interact with a Select2 dropdown that is not opened.
  * This exception is typically used to indicate that the dropdown should be opened before interacting with options.
+ * The state of the element captured on failure is rendered when the message is first read.
  *
  */
 public class Select2DropdownNotOpenedException extends RuntimeException {
     private static final String DEFAULT_MESSAGE = "An exception occurred: Select2 element not opened \n%s.";
+    private static final long serialVersionUID = 1L;
+
+    private final Select2FailureState snapshot;
+    private final String elementHtml;
+    private transient String message;
 
     /**
      * Constructs a Select2DropdownNotOpenedException.
@@ -16,6 +22,37 @@ public class Select2DropdownNotOpenedException extends RuntimeException {
      * @param element The WebElement representing the Select2 element for which the dropdown is not opened.
      */
     public Select2DropdownNotOpenedException(WebElement element) {
-        super(String.format(DEFAULT_MESSAGE, element.getAttribute("outerHTML")));
+        this.snapshot = null;
+        this.elementHtml = element.getAttribute("outerHTML");
+    }
+
+    /**
+     * Constructs a Select2DropdownNotOpenedException from a captured snapshot.
+     *
+     * @param snapshot The state of the Select2 element captured on failure, or {@code null}.
+     */
+    public Select2DropdownNotOpenedException(Select2FailureState snapshot) {
+        this.snapshot = snapshot;
+        this.elementHtml = null;
+    }
+
+    /**
+     * Get the state of the element captured on failure.
+     *
+     * @return snapshot, or {@code null} if diagnostics were off or the state could not be captured
+     */
+    public Select2FailureState getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public synchronized String getMessage() {
+        if (message == null) {
+            int maxLength = Select2Messages.getMaxMessageLength();
+            String state = snapshot != null ? snapshot.render(maxLength)
+                    : elementHtml != null ? elementHtml : "(no diagnostics captured)";
+            message = Select2Messages.abbreviate(String.format(DEFAULT_MESSAGE, state), maxLength);
+        }
+        return message;
     }
 }
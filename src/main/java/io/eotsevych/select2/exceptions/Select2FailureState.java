@@ -0,0 +1,33 @@
+package io.eotsevych.select2.exceptions;
+
+import java.io.Serializable;
+
+/**
+ * State of a Select2 element captured when an operation failed and attached to the exception.
+ * Captured by {@code Select2Diagnostics} as a {@code Select2Snapshot}; serializable, so that exceptions keep it
+ * when they cross JUnit or remote boundaries.
+ */
+public interface Select2FailureState extends Serializable {
+
+    /**
+     * Get the number of options in the {@code <select>}.
+     *
+     * @return option count
+     */
+    int optionCount();
+
+    /**
+     * Get the inner HTML of the {@code <select>} parent.
+     *
+     * @return HTML, possibly truncated, or {@code null} if it was not captured
+     */
+    String parentHtml();
+
+    /**
+     * Render the state for an exception message.
+     *
+     * @param maxLength - maximum length of the text
+     * @return state description, at most {@code maxLength} characters long
+     */
+    String render(int maxLength);
+}
@@ -0,0 +1,99 @@
+package io.eotsevych.select2.exceptions;
+
+import java.util.List;
+
+/**
+ * Formatting of Select2 exception messages.
+ * Messages are rendered when they are first read and capped at {@link #getMaxMessageLength()} characters,
+ * taken from the {@code select2.diagnostics.maxLength} system property. An invalid property value is reported
+ * as a warning and replaced by {@link #DEFAULT_MAX_MESSAGE_LENGTH}.
+ */
+public final class Select2Messages {
+    /**
+     * Default maximum length of exception messages.
+     */
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = 2000;
+
+    private static final int ABBREVIATION_LENGTH = 32;
+    private static final System.Logger LOGGER = System.getLogger(Select2Messages.class.getName());
+
+    private static volatile int maxMessageLength = maxMessageLengthProperty();
+
+    private Select2Messages() {
+    }
+
+    private static int maxMessageLengthProperty() {
+        String value = System.getProperty("select2.diagnostics.maxLength");
+        if (value == null) {
+            return DEFAULT_MAX_MESSAGE_LENGTH;
+        }
+        try {
+            int length = Integer.parseInt(value.trim());
+            if (length > 0) {
+                return length;
+            }
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        LOGGER.log(System.Logger.Level.WARNING, "Invalid select2.diagnostics.maxLength value ''{0}'', using {1}",
+                value, DEFAULT_MAX_MESSAGE_LENGTH);
+        return DEFAULT_MAX_MESSAGE_LENGTH;
+    }
+
+    /**
+     * Get the maximum length of exception messages.
+     *
+     * @return maximum number of characters
+     */
+    public static int getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    /**
+     * Set the maximum length of exception messages.
+     *
+     * @param length - maximum number of characters
+     */
+    public static void setMaxMessageLength(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Maximum message length must be positive: " + length);
+        }
+        maxMessageLength = length;
+    }
+
+    /**
+     * Cut a text to a maximum length, marking how much was left out.
+     *
+     * @param text      - text to cut
+     * @param maxLength - maximum length of the result
+     * @return the text itself if it is short enough, otherwise its beginning followed by the number of omitted characters
+     */
+    public static String abbreviate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        int kept = Math.max(0, maxLength - ABBREVIATION_LENGTH);
+        return text.substring(0, kept) + "... (" + (text.length() - kept) + " more characters)";
+    }
+
+    /**
+     * Format the texts of a list which fit into a maximum length, marking how many were left out.
+     * Only the texts which are rendered are read, so a long list costs no more than a short one.
+     *
+     * @param texts     - texts of the list
+     * @param total     - size of the whole list
+     * @param maxLength - length after which no more texts are added
+     * @return texts in list notation, followed by the number of omitted texts if not all of them fit
+     */
+    public static String abbreviate(List<String> texts, int total, int maxLength) {
+        StringBuilder text = new StringBuilder("[");
+        int rendered = 0;
+        while (rendered < texts.size() && text.length() < maxLength) {
+            text.append(rendered == 0 ? "" : ", ").append(texts.get(rendered++));
+        }
+        if (total > rendered) {
+            text.append(rendered == 0 ? "" : ", ").append("... (").append(total - rendered).append(" more)");
+        }
+        return text.append(']').toString();
+    }
+}
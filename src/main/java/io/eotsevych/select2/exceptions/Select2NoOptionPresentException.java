@@ -1,14 +1,25 @@
 package io.eotsevych.select2.exceptions;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Exception thrown when no matching options are found in a Select2 dropdown for a given query.
  * This exception is typically used to indicate that the expected options are not present.
+ * The message is rendered when it is first read and is capped at {@link Select2Messages#getMaxMessageLength()}.
  *
  */
 public class Select2NoOptionPresentException extends RuntimeException {
     private static final String DEFAULT_MESSAGE = "Option '%s' is not present inside '%s'";
+    private static final String SUGGESTION_MESSAGE = ". Did you mean '%s'?";
+    private static final long serialVersionUID = 1L;
+
+    private final String query;
+    private final List<String> optionList;
+    private final List<String> suggestions;
+    private final Select2FailureState snapshot;
+    private transient String message;
 
     /**
      * Constructs a Select2NoOptionPresentException.
@@ -17,6 +28,86 @@ public class Select2NoOptionPresentException extends RuntimeException {
      * @param optionList The list of options that were expected but not found.
      */
     public Select2NoOptionPresentException(String query, List<String> optionList) {
-        super(String.format(DEFAULT_MESSAGE, query, optionList));
+        this(query, optionList, List.of());
+    }
+
+    /**
+     * Constructs a Select2NoOptionPresentException with "did you mean" suggestions.
+     *
+     * @param query       The query for which no matching options were found.
+     * @param optionList  The list of options that were expected but not found.
+     * @param suggestions The option texts closest to the query, closest first.
+     */
+    public Select2NoOptionPresentException(String query, List<String> optionList, List<String> suggestions) {
+        this(query, optionList, suggestions, null);
+    }
+
+    /**
+     * Constructs a Select2NoOptionPresentException with "did you mean" suggestions and a snapshot of the element.
+     *
+     * @param query       The query for which no matching options were found.
+     * @param optionList  The list of options that were expected but not found.
+     * @param suggestions The option texts closest to the query, closest first.
+     * @param snapshot    The state of the element captured on failure, or {@code null}.
+     */
+    public Select2NoOptionPresentException(String query, List<String> optionList, List<String> suggestions,
+                                           Select2FailureState snapshot) {
+        this.query = query;
+        this.optionList = Collections.unmodifiableList(new ArrayList<>(optionList));
+        this.suggestions = List.copyOf(suggestions);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Get the query for which no option was found.
+     *
+     * @return query
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Get the texts of the options which were searched.
+     *
+     * @return option texts
+     */
+    public List<String> getOptions() {
+        return optionList;
+    }
+
+    /**
+     * Get the option texts closest to the query.
+     *
+     * @return suggestions, closest first, or an empty list
+     */
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    /**
+     * Get the state of the element captured on failure.
+     *
+     * @return snapshot, or {@code null} if diagnostics were off or the state could not be captured
+     */
+    public Select2FailureState getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public synchronized String getMessage() {
+        if (message == null) {
+            int maxLength = Select2Messages.getMaxMessageLength();
+            StringBuilder text = new StringBuilder(String.format(DEFAULT_MESSAGE, query,
+                    Select2Messages.abbreviate(optionList, optionList.size(), maxLength / 2)));
+            if (!suggestions.isEmpty()) {
+                text.append(String.format(SUGGESTION_MESSAGE, String.join("', '", suggestions)));
+            }
+            if (snapshot != null && text.length() < maxLength) {
+                text.append('\n').append(snapshot.render(maxLength - text.length() - 1));
+            }
+            message = Select2Messages.abbreviate(text.toString(), maxLength);
+        }
+        return message;
     }
 }
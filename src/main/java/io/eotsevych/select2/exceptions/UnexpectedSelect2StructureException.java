@@ -7,11 +7,17 @@ import org.openqa.selenium.WebElement;
 /**
  * Exception thrown when the structure of a Select2 element is unexpected.
  * This exception is typically used to indicate issues with the HTML structure of the Select2 dropdown.
+ * The HTML around the element captured on failure is formatted when the message is first read.
  */
 public class UnexpectedSelect2StructureException extends RuntimeException {
 
     private final static String EXPECTED_STRUCTURE_HTML = "<%any block tag%>\n" + "  <select class=\"***\" aria-hidden=\"true\" data-select2-id=\"***\">\n" + "      <option>%text%</option>\n" + "      ...\n" + "  </select>\n" + "  <span class=\"select2 select2-container select2-container--default..\" data-select2-id=\"***\">\n" + "    …\n" + "  </span>\n" + "</%any block tag>";
 
+    private static final long serialVersionUID = 1L;
+
+    private final Select2FailureState snapshot;
+    private final String parentHtml;
+    private transient String message;
 
     /**
      * Constructs an UnexpectedSelect2StructureException.
@@ -19,8 +25,38 @@ public class UnexpectedSelect2StructureException extends RuntimeException {
      * @param selectElement The WebElement representing the Select2 element for which the structure is unexpected.
      */
     public UnexpectedSelect2StructureException(WebElement selectElement) {
-        super(String.format("Unexpected Select2 structure: <span> element should be present near <select>:\n" + "Expected:\n" + "%s\n" + "Actual:\n" + "\"%s\"", EXPECTED_STRUCTURE_HTML, Jsoup.parseBodyFragment(selectElement.findElement(By.xpath("../*")).getAttribute("innerHTML"))));
+        this.snapshot = null;
+        this.parentHtml = selectElement.findElement(By.xpath("..")).getAttribute("innerHTML");
+    }
 
+    /**
+     * Constructs an UnexpectedSelect2StructureException from a captured snapshot.
+     *
+     * @param snapshot The state of the Select2 element captured on failure, or {@code null}.
+     */
+    public UnexpectedSelect2StructureException(Select2FailureState snapshot) {
+        this.snapshot = snapshot;
+        this.parentHtml = snapshot == null ? null : snapshot.parentHtml();
+    }
+
+    /**
+     * Get the state of the element captured on failure.
+     *
+     * @return snapshot, or {@code null} if diagnostics were off or the state could not be captured
+     */
+    public Select2FailureState getSnapshot() {
+        return snapshot;
+    }
 
+    @Override
+    public synchronized String getMessage() {
+        if (message == null) {
+            String actual = parentHtml == null
+                    ? "(no diagnostics captured)"
+                    : Jsoup.parseBodyFragment(parentHtml).body().html();
+            message = Select2Messages.abbreviate(String.format("Unexpected Select2 structure: <span> element should be present near <select>:\n" + "Expected:\n" + "%s\n" + "Actual:\n" + "\"%s\"", EXPECTED_STRUCTURE_HTML, actual),
+                    Select2Messages.getMaxMessageLength());
+        }
+        return message;
     }
 }
@@ -0,0 +1,53 @@
+package io.eotsevych.select2.instrumentation;
+
+/**
+ * Types of WebDriver commands issued by Select2 operations.
+ */
+public enum CommandType {
+    /**
+     * {@code findElement} and {@code findElements} calls.
+     */
+    FIND_ELEMENT,
+    /**
+     * {@code getText} calls.
+     */
+    GET_TEXT,
+    /**
+     * {@code getAttribute}, {@code getDomAttribute}, {@code getDomProperty} and {@code getCssValue} calls.
+     */
+    GET_ATTRIBUTE,
+    /**
+     * {@code executeScript} and {@code executeAsyncScript} calls.
+     */
+    EXECUTE_SCRIPT,
+    /**
+     * Actions API calls ({@code perform}, {@code resetInputState}).
+     */
+    ACTIONS,
+    /**
+     * Element interactions such as {@code click}, {@code sendKeys} and {@code clear}.
+     */
+    ELEMENT_INTERACTION,
+    /**
+     * Any other remote command.
+     */
+    OTHER;
+
+    /**
+     * Resolve command type by the name of the invoked WebDriver/WebElement method.
+     *
+     * @param methodName - name of the invoked method
+     * @return command type
+     */
+    public static CommandType of(String methodName) {
+        return switch (methodName) {
+            case "findElement", "findElements" -> FIND_ELEMENT;
+            case "getText" -> GET_TEXT;
+            case "getAttribute", "getDomAttribute", "getDomProperty", "getCssValue" -> GET_ATTRIBUTE;
+            case "executeScript", "executeAsyncScript" -> EXECUTE_SCRIPT;
+            case "perform", "resetInputState" -> ACTIONS;
+            case "click", "sendKeys", "clear", "submit" -> ELEMENT_INTERACTION;
+            default -> OTHER;
+        };
+    }
+}
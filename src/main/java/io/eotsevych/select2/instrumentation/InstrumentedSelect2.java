@@ -0,0 +1,16 @@
+package io.eotsevych.select2.instrumentation;
+
+import io.eotsevych.select2.ISelect2;
+
+/**
+ * Select2 element whose operations are recorded into a per-instance and the global {@link Select2Metrics} registry.
+ */
+public interface InstrumentedSelect2 extends ISelect2 {
+
+    /**
+     * Get statistics of operations performed through this instance.
+     *
+     * @return per-instance registry
+     */
+    Select2Metrics getMetrics();
+}
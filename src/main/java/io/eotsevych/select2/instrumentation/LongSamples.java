@@ -0,0 +1,72 @@
+package io.eotsevych.select2.instrumentation;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded collection of {@code long} samples with nearest-rank percentiles. Count and sum are exact, percentiles are
+ * computed from a uniform reservoir of at most {@link #CAPACITY} samples, so memory and the cost of a percentile
+ * stay constant however long the metrics are collected. Not thread-safe.
+ */
+final class LongSamples {
+    /**
+     * Maximum number of samples retained for percentiles.
+     */
+    static final int CAPACITY = 1024;
+
+    private long[] values = new long[16];
+    private int retained;
+    private long count;
+    private long sum;
+
+    void add(long value) {
+        count++;
+        sum += value;
+        offer(value, count);
+    }
+
+    void addAll(LongSamples other) {
+        long before = count;
+        for (int i = 0; i < other.retained; i++) {
+            // every retained sample of a sampled reservoir stands for other.count / other.retained samples
+            offer(other.values[i], before + (i + 1) * other.count / other.retained);
+        }
+        count = before + other.count;
+        sum += other.sum;
+    }
+
+    int size() {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    long sum() {
+        return sum;
+    }
+
+    long percentile(double percentile) {
+        if (retained == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(values, retained);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * retained);
+        return sorted[Math.max(0, Math.min(retained, rank) - 1)];
+    }
+
+    /**
+     * Offer the {@code seen}-th sample to the reservoir (Vitter's algorithm R).
+     */
+    private void offer(long value, long seen) {
+        if (retained < CAPACITY) {
+            if (retained == values.length) {
+                values = Arrays.copyOf(values, Math.min(CAPACITY, retained * 2));
+            }
+            values[retained++] = value;
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(Math.max(seen, CAPACITY));
+            if (slot < CAPACITY) {
+                values[(int) slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.eotsevych.select2.instrumentation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * WebDriver commands issued by the Select2 operation currently running on a thread.
+ */
+final class OperationScope {
+    private static final ThreadLocal<OperationScope> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final String widget;
+    private final OperationScope parent;
+    private final Map<CommandType, LongSamples> commands = new EnumMap<>(CommandType.class);
+
+    private OperationScope(String operation, String widget, OperationScope parent) {
+        this.operation = operation;
+        this.widget = widget;
+        this.parent = parent;
+    }
+
+    static OperationScope open(String operation, String widget) {
+        OperationScope scope = new OperationScope(operation, widget, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static OperationScope current() {
+        return CURRENT.get();
+    }
+
+    void close() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    void recordCommand(CommandType type, long durationNanos) {
+        commands.computeIfAbsent(type, key -> new LongSamples()).add(durationNanos);
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    String getWidget() {
+        return widget;
+    }
+
+    long getCommandCount() {
+        return commands.values().stream().mapToLong(LongSamples::size).sum();
+    }
+
+    Map<CommandType, LongSamples> getCommands() {
+        return commands;
+    }
+}
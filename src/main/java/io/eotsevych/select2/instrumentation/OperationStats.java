@@ -0,0 +1,92 @@
+package io.eotsevych.select2.instrumentation;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Accumulated wall time and WebDriver command statistics of a single Select2 operation.
+ */
+public final class OperationStats {
+    private final String operation;
+    private final LongSamples durations = new LongSamples();
+    private final Map<CommandType, LongSamples> commandDurations = new EnumMap<>(CommandType.class);
+
+    OperationStats(String operation) {
+        this.operation = operation;
+    }
+
+    synchronized void record(long durationNanos, Map<CommandType, LongSamples> commands) {
+        durations.add(durationNanos);
+        commands.forEach((type, samples) -> commandDurations.computeIfAbsent(type, key -> new LongSamples()).addAll(samples));
+    }
+
+    /**
+     * Get name of the operation.
+     *
+     * @return operation name, e.g. {@code selectByText}
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Get number of recorded invocations.
+     *
+     * @return invocation count
+     */
+    public synchronized int getCount() {
+        return durations.size();
+    }
+
+    /**
+     * Get wall time percentile of the operation.
+     *
+     * @param percentile - percentile from {@code 0} to {@code 100}
+     * @return wall time
+     */
+    public synchronized Duration getPercentile(double percentile) {
+        return Duration.ofNanos(durations.percentile(percentile));
+    }
+
+    /**
+     * Get total number of WebDriver commands issued by all invocations.
+     *
+     * @return command count
+     */
+    public synchronized long getCommandCount() {
+        return commandDurations.values().stream().mapToLong(LongSamples::size).sum();
+    }
+
+    /**
+     * Get number of WebDriver commands of the given type issued by all invocations.
+     *
+     * @param type - command type
+     * @return command count
+     */
+    public synchronized long getCommandCount(CommandType type) {
+        LongSamples samples = commandDurations.get(type);
+        return samples == null ? 0 : samples.size();
+    }
+
+    /**
+     * Get latency percentile of WebDriver commands of the given type.
+     *
+     * @param type       - command type
+     * @param percentile - percentile from {@code 0} to {@code 100}
+     * @return command latency
+     */
+    public synchronized Duration getCommandPercentile(CommandType type, double percentile) {
+        LongSamples samples = commandDurations.get(type);
+        return Duration.ofNanos(samples == null ? 0 : samples.percentile(percentile));
+    }
+
+    /**
+     * Get average number of WebDriver commands per invocation.
+     *
+     * @return commands per invocation
+     */
+    public synchronized double getCommandsPerOperation() {
+        return durations.size() == 0 ? 0 : (double) getCommandCount() / durations.size();
+    }
+}
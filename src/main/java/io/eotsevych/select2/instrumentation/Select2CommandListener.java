@@ -0,0 +1,54 @@
+package io.eotsevych.select2.instrumentation;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * WebDriverListener attributing every WebDriver command to the Select2 operation running on the current thread.
+ * Commands issued outside of an instrumented operation are ignored.
+ */
+public class Select2CommandListener implements WebDriverListener {
+    private static final Set<String> LOCAL_METHODS = Set.of("getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private final ThreadLocal<Deque<long[]>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            startTimes.get().push(new long[]{System.nanoTime(), System.currentTimeMillis()});
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        complete(method, args, result);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        complete(method, args, null);
+    }
+
+    private void complete(Method method, Object[] args, Object result) {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        long[] start = startTimes.get().poll();
+        OperationScope scope = OperationScope.current();
+        if (start != null && scope != null) {
+            long duration = System.nanoTime() - start[0];
+            CommandType type = CommandType.of(method.getName());
+            scope.recordCommand(type, duration);
+            Select2TraceRecorder recorder = Select2TraceRecorder.current();
+            if (recorder != null) {
+                recorder.recordCommand(scope.getWidget(), scope.getOperation(), type, method.getName(), start[1], duration,
+                        Select2TraceRecorder.payloadSize(args, result));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.eotsevych.select2.instrumentation;
+
+import io.eotsevych.select2.ISelect2;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Entry point for Select2 instrumentation.
+ * <pre>
+ * WebDriver driver = Select2Instrumentation.decorate(new ChromeDriver());
+ * InstrumentedSelect2 select2 = Select2Instrumentation.instrument(new Select2(driver.findElement(By.id("id"))));
+ * select2.selectByText("Alaska");
+ * System.out.println(Select2Metrics.global().dump());
+ * </pre>
+ * Elements must be located through the decorated driver, otherwise only operation wall time is recorded.
+ */
+public final class Select2Instrumentation {
+    private static final Select2CommandListener LISTENER = new Select2CommandListener();
+
+    private Select2Instrumentation() {
+    }
+
+    /**
+     * Decorate driver with a listener counting WebDriver commands issued by instrumented Select2 operations.
+     *
+     * @param driver - driver to decorate
+     * @return decorated driver
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(LISTENER).decorate(driver);
+    }
+
+    /**
+     * Wrap Select2 element, so that every {@link ISelect2} operation is recorded into the instance and the global registry.
+     *
+     * @param select2 - Select2 element to instrument
+     * @return instrumented Select2 element
+     */
+    public static InstrumentedSelect2 instrument(ISelect2 select2) {
+        return instrument(select2, select2.getClass().getSimpleName());
+    }
+
+    /**
+     * Wrap Select2 element, so that every {@link ISelect2} operation is recorded into the instance and the global registry,
+     * and into the active {@link Select2TraceRecorder} under the given widget id.
+     *
+     * @param select2  - Select2 element to instrument
+     * @param widgetId - id of the element in traces, e.g. its {@code id} or {@code name} attribute
+     * @return instrumented Select2 element
+     */
+    public static InstrumentedSelect2 instrument(ISelect2 select2, String widgetId) {
+        Select2Metrics metrics = new Select2Metrics();
+        return (InstrumentedSelect2) Proxy.newProxyInstance(InstrumentedSelect2.class.getClassLoader(),
+                new Class<?>[]{InstrumentedSelect2.class},
+                (proxy, method, args) -> invoke(select2, widgetId, metrics, method, args));
+    }
+
+    private static Object invoke(ISelect2 select2, String widgetId, Select2Metrics metrics, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == InstrumentedSelect2.class) {
+            return metrics;
+        }
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(select2, args);
+        }
+        OperationScope scope = OperationScope.open(method.getName(), widgetId);
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = method.invoke(select2, args);
+            failed = false;
+            return result;
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        } finally {
+            long duration = System.nanoTime() - start;
+            scope.close();
+            metrics.record(scope, duration);
+            Select2Metrics.global().record(scope, duration);
+            Select2TraceRecorder recorder = Select2TraceRecorder.current();
+            if (recorder != null) {
+                recorder.recordOperation(widgetId, scope.getOperation(), startMillis, duration, scope.getCommandCount(), failed);
+            }
+        }
+    }
+}
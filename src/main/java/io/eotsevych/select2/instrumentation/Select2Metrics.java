@@ -0,0 +1,86 @@
+package io.eotsevych.select2.instrumentation;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of Select2 operation statistics.
+ * Every instrumented Select2 instance owns a registry, and all operations are additionally recorded
+ * into the {@link #global()} registry, which can be dumped after a test run.
+ */
+public final class Select2Metrics {
+    private static final Select2Metrics GLOBAL = new Select2Metrics();
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final ConcurrentMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Get registry collecting operations of all instrumented Select2 instances.
+     *
+     * @return global registry
+     */
+    public static Select2Metrics global() {
+        return GLOBAL;
+    }
+
+    void record(OperationScope scope, long durationNanos) {
+        operations.computeIfAbsent(scope.getOperation(), OperationStats::new).record(durationNanos, scope.getCommands());
+    }
+
+    /**
+     * Get statistics of a single operation.
+     *
+     * @param operation - operation name, e.g. {@code selectByText}
+     * @return operation statistics, or {@code null} if the operation was not recorded
+     */
+    public OperationStats get(String operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * Get statistics of all recorded operations.
+     *
+     * @return operation statistics by operation name
+     */
+    public Map<String, OperationStats> getOperations() {
+        return Collections.unmodifiableMap(new TreeMap<>(operations));
+    }
+
+    /**
+     * Discard all recorded statistics.
+     */
+    public void reset() {
+        operations.clear();
+    }
+
+    /**
+     * Render recorded statistics as a table with wall time percentiles and command counts per operation.
+     *
+     * @return human-readable report
+     */
+    public String dump() {
+        StringBuilder report = new StringBuilder(String.format("%-28s %7s %10s %10s %10s %10s", "operation", "count", "p50(ms)", "p90(ms)", "p99(ms)", "cmd/op"));
+        for (CommandType type : CommandType.values()) {
+            report.append(String.format(" %14s", type.name().toLowerCase()));
+        }
+        getOperations().forEach((name, stats) -> {
+            report.append(System.lineSeparator()).append(String.format("%-28s %7d", name, stats.getCount()));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(" %10.1f", toMillis(stats.getPercentile(percentile))));
+            }
+            report.append(String.format(" %10.1f", stats.getCommandsPerOperation()));
+            for (CommandType type : CommandType.values()) {
+                report.append(String.format(" %5d/%6.1fms", stats.getCommandCount(type), toMillis(stats.getCommandPercentile(type, 50))));
+            }
+        });
+        return report.toString();
+    }
+
+    private static double toMillis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,118 @@
+package io.eotsevych.select2.instrumentation;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares two traces written by {@link Select2TraceRecorder} and reports per-operation latency and command count regressions.
+ * <pre>
+ * java -cp select2-java-selenium.jar:selenium-json.jar io.eotsevych.select2.instrumentation.Select2TraceAnalyzer baseline.jsonl candidate.jsonl [thresholdPercent]
+ * </pre>
+ * An operation regressed when its median wall time grew by more than the threshold (10% by default),
+ * or when it issues more WebDriver commands per invocation. Failed operations are not taken into account.
+ * The process exits with status {@code 1} if any operation regressed.
+ */
+public final class Select2TraceAnalyzer {
+    private static final Json JSON = new Json();
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    private Select2TraceAnalyzer() {
+    }
+
+    /**
+     * Print the report of two traces.
+     *
+     * @param args - baseline trace, candidate trace and an optional threshold in percent
+     * @throws IOException if a trace cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: Select2TraceAnalyzer <baseline.jsonl> <candidate.jsonl> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        int regressions = compare(Path.of(args[0]), Path.of(args[1]), threshold, System.out);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * Compare two traces and print a per-operation report.
+     *
+     * @param baseline         - trace of the reference run
+     * @param candidate        - trace of the run to check
+     * @param thresholdPercent - allowed growth of the median wall time in percent
+     * @param out              - stream to print the report to
+     * @return number of regressed operations
+     * @throws IOException if a trace cannot be read
+     */
+    public static int compare(Path baseline, Path candidate, double thresholdPercent, PrintStream out) throws IOException {
+        Map<String, Summary> before = read(baseline);
+        Map<String, Summary> after = read(candidate);
+        out.printf("%-28s %7s %7s %10s %10s %8s %10s %10s %8s%n", "operation", "count", "count'",
+                "p50(ms)", "p50'(ms)", "delta", "cmd/op", "cmd/op'", "");
+        int regressions = 0;
+        for (String operation : union(before, after)) {
+            Summary base = before.get(operation);
+            Summary current = after.get(operation);
+            if (base == null || current == null) {
+                out.printf("%-28s %s%n", operation, base == null ? "only in candidate" : "only in baseline");
+                continue;
+            }
+            double baseP50 = base.durations.percentile(50) / 1_000_000.0;
+            double currentP50 = current.durations.percentile(50) / 1_000_000.0;
+            double delta = baseP50 == 0 ? 0 : (currentP50 - baseP50) / baseP50 * 100;
+            boolean regressed = delta > thresholdPercent || current.commandsPerOperation() > base.commandsPerOperation();
+            if (regressed) {
+                regressions++;
+            }
+            out.printf("%-28s %7d %7d %10.1f %10.1f %+7.1f%% %10.1f %10.1f %8s%n", operation, base.durations.size(),
+                    current.durations.size(), baseP50, currentP50, delta, base.commandsPerOperation(),
+                    current.commandsPerOperation(), regressed ? "REGRESSED" : "");
+        }
+        return regressions;
+    }
+
+    private static TreeSet<String> union(Map<String, Summary> before, Map<String, Summary> after) {
+        TreeSet<String> operations = new TreeSet<>(before.keySet());
+        operations.addAll(after.keySet());
+        return operations;
+    }
+
+    private static Map<String, Summary> read(Path trace) throws IOException {
+        Map<String, Summary> summaries = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(trace, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> event = JSON.toType(line, Json.MAP_TYPE);
+                if (!"operation".equals(event.get("event")) || Boolean.TRUE.equals(event.get("failed"))) {
+                    continue;
+                }
+                Summary summary = summaries.computeIfAbsent(String.valueOf(event.get("operation")), key -> new Summary());
+                summary.durations.add(((Number) event.get("durationNanos")).longValue());
+                summary.commands += ((Number) event.get("commands")).longValue();
+            }
+        }
+        return summaries;
+    }
+
+    private static final class Summary {
+        private final LongSamples durations = new LongSamples();
+        private long commands;
+
+        private double commandsPerOperation() {
+            return durations.size() == 0 ? 0 : (double) commands / durations.size();
+        }
+    }
+}
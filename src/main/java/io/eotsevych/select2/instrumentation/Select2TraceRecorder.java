@@ -0,0 +1,275 @@
+package io.eotsevych.select2.instrumentation;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in recorder appending every instrumented Select2 operation and the WebDriver commands issued under it
+ * to a JSON Lines file, one event per line:
+ * <pre>
+ * {"event":"command","ts":1700000000000,"thread":"main","widget":"country","operation":"selectByText","type":"EXECUTE_SCRIPT","method":"executeScript","durationNanos":812000,"payload":1534}
+ * {"event":"operation","ts":1700000000000,"thread":"main","widget":"country","operation":"selectByText","durationNanos":5230000,"commands":4,"failed":false}
+ * </pre>
+ * {@code ts} is the start of the operation or command in epoch milliseconds, {@code payload} is the number of characters
+ * sent and received by the command. Events are kept in a bounded in-memory buffer which is written by a background
+ * thread, so recording never blocks an operation: when the buffer is full, events are dropped and counted.
+ * <p>
+ * Start recording with {@link #start(Path)}, or for the whole JVM with the {@code select2.trace.file} system property.
+ * Traces of two runs are compared with {@link Select2TraceAnalyzer}.
+ */
+public final class Select2TraceRecorder implements AutoCloseable {
+    /**
+     * Default number of events buffered in memory.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Json JSON = new Json();
+    private static volatile Select2TraceRecorder active;
+
+    static {
+        String file = System.getProperty("select2.trace.file");
+        if (file != null && !file.isBlank()) {
+            Select2TraceRecorder recorder = start(Path.of(file));
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
+        }
+    }
+
+    private final BlockingQueue<String> buffer;
+    private final BufferedWriter writer;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private Select2TraceRecorder(Path file, int capacity) throws IOException {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writerThread = new Thread(this::drain, "select2-trace-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Start recording into a file with the {@link #DEFAULT_CAPACITY default buffer capacity}.
+     * The recorder replaces the currently active one, which is closed.
+     *
+     * @param file - trace file, events are appended if it exists
+     * @return active recorder
+     */
+    public static Select2TraceRecorder start(Path file) {
+        return start(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Start recording into a file.
+     * The recorder replaces the currently active one, which is closed.
+     *
+     * @param file     - trace file, events are appended if it exists
+     * @param capacity - maximum number of events buffered in memory
+     * @return active recorder
+     */
+    public static synchronized Select2TraceRecorder start(Path file, int capacity) {
+        Select2TraceRecorder recorder;
+        try {
+            recorder = new Select2TraceRecorder(file, capacity);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open trace file " + file, ex);
+        }
+        Select2TraceRecorder previous = active;
+        active = recorder;
+        if (previous != null) {
+            previous.close();
+        }
+        return recorder;
+    }
+
+    /**
+     * Get the active recorder.
+     *
+     * @return active recorder, or {@code null} if recording is off
+     */
+    public static Select2TraceRecorder current() {
+        return active;
+    }
+
+    /**
+     * Get number of events dropped because the buffer was full.
+     *
+     * @return dropped event count
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Stop recording: write buffered events and close the file.
+     * The writer thread is not interrupted, it notices the close on its next poll and flushes what is left.
+     *
+     * @throws UncheckedIOException if writing the trace file failed, events which could not be written are lost
+     */
+    @Override
+    public void close() {
+        synchronized (Select2TraceRecorder.class) {
+            if (active == this) {
+                active = null;
+            }
+        }
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        IOException ex = failure;
+        if (ex != null) {
+            throw new UncheckedIOException("Unable to write trace file, " + dropped.get() + " events lost", ex);
+        }
+    }
+
+    void recordCommand(String widget, String operation, CommandType type, String method, long startMillis,
+                       long durationNanos, long payload) {
+        Map<String, Object> event = event("command", startMillis, widget, operation);
+        event.put("type", type.name());
+        event.put("method", method);
+        event.put("durationNanos", durationNanos);
+        event.put("payload", payload);
+        offer(event);
+    }
+
+    void recordOperation(String widget, String operation, long startMillis, long durationNanos, long commands, boolean failed) {
+        Map<String, Object> event = event("operation", startMillis, widget, operation);
+        event.put("durationNanos", durationNanos);
+        event.put("commands", commands);
+        event.put("failed", failed);
+        offer(event);
+    }
+
+    /**
+     * Estimate the number of characters sent and received by a WebDriver command.
+     */
+    static long payloadSize(Object[] args, Object result) {
+        long size = size(result);
+        if (args != null) {
+            for (Object arg : args) {
+                size += size(arg);
+            }
+        }
+        return size;
+    }
+
+    private static long size(Object value) {
+        if (value instanceof CharSequence text) {
+            return text.length();
+        }
+        if (value instanceof Object[] array) {
+            long size = 0;
+            for (Object item : array) {
+                size += size(item);
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 0;
+            for (Object item : collection) {
+                size += size(item);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += size(entry.getKey()) + size(entry.getValue());
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    private static Map<String, Object> event(String type, long startMillis, String widget, String operation) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event", type);
+        event.put("ts", startMillis);
+        event.put("thread", Thread.currentThread().getName());
+        event.put("widget", widget);
+        event.put("operation", operation);
+        return event;
+    }
+
+    private void offer(Map<String, Object> event) {
+        if (closed) {
+            return;
+        }
+        StringBuilder line = new StringBuilder(256);
+        JSON.newOutput(line).setPrettyPrint(false).write(event);
+        if (!buffer.offer(line.toString())) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (!closed) {
+                String line = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (line != null) {
+                    batch.add(line);
+                    buffer.drainTo(batch);
+                    write(batch);
+                }
+            }
+        } catch (InterruptedException ex) {
+            // interrupted by someone else: still write what is left below
+        } finally {
+            // an interrupt flag left set would close the interruptible file channel on the final write
+            Thread.interrupted();
+            buffer.drainTo(batch);
+            write(batch);
+            try {
+                writer.close();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+    }
+
+    private void write(List<String> batch) {
+        try {
+            for (String line : batch) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            dropped.addAndGet(batch.size());
+            fail(ex);
+        }
+        batch.clear();
+    }
+
+    private void fail(IOException ex) {
+        if (failure == null) {
+            failure = ex;
+        } else if (failure != ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+}
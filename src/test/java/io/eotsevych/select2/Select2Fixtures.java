@@ -0,0 +1,112 @@
+package io.eotsevych.select2;
+
+/**
+ * Generator of large fixture pages served by {@link Select2TestServer} as {@code /fixture.html}.
+ * Every page contains the following Select2 elements, options are named {@code Option <n>} with value {@code o<n>}:
+ * <ul>
+ *     <li>{@code .large-single} - single select with all options</li>
+ *     <li>{@code .large-multiple} - multi select with tags, the first {@code preselected} options are selected</li>
+ *     <li>{@code .large-groups} - single select with all options split into {@code groups} optgroups</li>
+ *     <li>{@code .deep-groups} - single select with groups nested {@code depth} levels deep, ten options per level
+ *     named {@code Level <level> option <n>}</li>
+ *     <li>{@code .ajax-slow} - AJAX select answered after 1.5 seconds</li>
+ *     <li>{@code .ajax-paginated} - AJAX select with infinite scroll over {@code options} results, 20 per page</li>
+ *     <li>{@code .ajax-unordered} - AJAX select without request delay, answered after a random latency up to a second,
+ *     so that responses arrive out of order</li>
+ * </ul>
+ */
+final class Select2Fixtures {
+    private static final String HEAD = """
+            <!DOCTYPE html>
+            <html lang="en">
+            <head>
+                <script src="/webjars/jquery/3.6.0/jquery.min.js"></script>
+                <link href="/webjars/select2/4.1.0-rc.0/dist/css/select2.min.css" rel="stylesheet"/>
+                <script src="/webjars/select2/4.1.0-rc.0/dist/js/select2.min.js"></script>
+                <meta charset="UTF-8">
+                <title>Select2 Fixture Page</title>
+                <script type="application/javascript">
+                    function nestedGroups(level, depth) {
+                        var children = [];
+                        for (var i = 1; i <= 10; i++) {
+                            children.push({id: 'l' + level + '-' + i, text: 'Level ' + level + ' option ' + i});
+                        }
+                        if (level < depth) {
+                            children.push(nestedGroups(level + 1, depth));
+                        }
+                        return {text: 'Level ' + level, children: children};
+                    }
+
+                    function ajaxOptions(stub, delay) {
+                        return {
+                            width: '100%',
+                            minimumInputLength: 1,
+                            ajax: {
+                                url: '/search',
+                                dataType: 'json',
+                                delay: delay,
+                                data: function (params) {
+                                    return $.extend({q: params.term, page: params.page || 1}, stub);
+                                },
+                                processResults: function (data) {
+                                    return {
+                                        results: $.map(data.items, function (item) {
+                                            return {text: item.name, id: item.id};
+                                        }),
+                                        pagination: {more: data.more}
+                                    };
+                                }
+                            }
+                        };
+                    }
+            """;
+
+    private Select2Fixtures() {
+    }
+
+    /**
+     * Render a fixture page.
+     *
+     * @param options     - number of options of the large selects and of the paginated AJAX results
+     * @param groups      - number of optgroups of {@code .large-groups}
+     * @param depth       - nesting depth of {@code .deep-groups}
+     * @param preselected - number of selected options of {@code .large-multiple}
+     * @return page HTML
+     */
+    static String page(int options, int groups, int depth, int preselected) {
+        StringBuilder html = new StringBuilder(options * 150).append(HEAD)
+                .append("        $(document).ready(function () {\n")
+                .append("            $('.large-single').select2({width: '100%'});\n")
+                .append("            $('.large-multiple').select2({width: '100%', tags: true});\n")
+                .append("            $('.large-groups').select2({width: '100%'});\n")
+                .append("            $('.deep-groups').select2({width: '100%', data: [nestedGroups(1, ").append(depth).append(")]});\n")
+                .append("            $('.ajax-slow').select2(ajaxOptions({latency: 1500}, 250));\n")
+                .append("            $('.ajax-paginated').select2(ajaxOptions({pageSize: 20, total: ").append(options).append("}, 250));\n")
+                .append("            $('.ajax-unordered').select2(ajaxOptions({jitter: 1000}, 0));\n")
+                .append("        });\n    </script>\n</head>\n<body>\n");
+
+        html.append("<select class=\"large-single\">\n");
+        appendOptions(html, 1, options, 0);
+        html.append("</select>\n<select class=\"large-multiple\" multiple=\"multiple\">\n");
+        appendOptions(html, 1, options, preselected);
+        html.append("</select>\n<select class=\"large-groups\">\n");
+        int groupSize = Math.max(1, (options + groups - 1) / groups);
+        for (int from = 1, group = 1; from <= options; from += groupSize, group++) {
+            html.append("<optgroup label=\"Group ").append(group).append("\">\n");
+            appendOptions(html, from, Math.min(options, from + groupSize - 1), 0);
+            html.append("</optgroup>\n");
+        }
+        html.append("</select>\n<select class=\"deep-groups\"></select>\n");
+        for (String ajax : new String[]{"ajax-slow", "ajax-paginated", "ajax-unordered"}) {
+            html.append("<select class=\"").append(ajax).append("\"></select>\n");
+        }
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    private static void appendOptions(StringBuilder html, int from, int to, int selected) {
+        for (int i = from; i <= to; i++) {
+            html.append("<option value=\"o").append(i).append('"').append(i - from < selected ? " selected" : "")
+                    .append(">Option ").append(i).append("</option>\n");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.eotsevych.select2;
+
+import io.eotsevych.select2.instrumentation.InstrumentedSelect2;
+import io.eotsevych.select2.instrumentation.OperationStats;
+import io.eotsevych.select2.instrumentation.Select2Instrumentation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records wall time and WebDriver command count of every {@link ISelect2} operation on the
+ * {@link Select2Fixtures} pages as the number of options grows. Excluded from the default build, run with
+ * {@code mvn -Pscaling test}, choose sizes with {@code -Dselect2.scaling.sizes=1000,10000}.
+ * Results are written to {@code target/select2-scaling.csv}.
+ */
+@Tag("scaling")
+public class Select2ScalingTest {
+    private static final List<String> ROWS = Collections.synchronizedList(new ArrayList<>());
+    private static final int DEPTH = 5;
+
+    @TestFactory
+    Stream<DynamicTest> scaling() {
+        return Arrays.stream(System.getProperty("select2.scaling.sizes", "1000,10000,100000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .map(size -> DynamicTest.dynamicTest(size + " options", () -> measure(size)));
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("options,element,operation,count,p50_ms,max_ms,commands_per_operation");
+        synchronized (ROWS) {
+            lines.addAll(ROWS);
+        }
+        Files.createDirectories(Path.of("target"));
+        Files.write(Path.of("target", "select2-scaling.csv"), lines);
+    }
+
+    private void measure(int size) {
+        WebDriver driver = TestDrivers.current();
+        int preselected = Math.min(500, size);
+        driver.get(Select2TestServer.get().url("fixture.html?options=" + size + "&depth=" + DEPTH + "&preselected=" + preselected));
+        WebDriver decorated = Select2Instrumentation.decorate(driver);
+        String last = "Option " + size;
+
+        InstrumentedSelect2 single = instrument(decorated, ".large-single");
+        assertEquals(size, single.getOptions().size());
+        assertEquals(size, single.getOptionSnapshot().size());
+        assertTrue(single.isOptionPresentByText(last));
+        assertFalse(single.isOptionDisabledByText(last));
+        single.selectByText(last);
+        assertEquals(last, single.getSelectedOptionText());
+        single.selectByIndex(1);
+        assertEquals("Option 2", single.getSelectedOptionText());
+        single.selectByValue("o" + size);
+        assertEquals(last, single.getSelectedOptionText());
+        record(size, ".large-single", single);
+
+        InstrumentedSelect2 multiple = instrument(decorated, ".large-multiple");
+        assertEquals(preselected, multiple.getMultiSelectedOptionsText().size());
+        multiple.selectByText(List.of(last));
+        assertTrue(multiple.getMultiSelectedOptionsText().contains(last));
+        multiple.selectByIndex(new int[]{size - 1});
+        assertTrue(multiple.getMultiSelectedOptionsText().contains("Option " + (size - 1)));
+        multiple.deselectByValue("o" + size);
+        List<String> selected = multiple.getMultiSelectedOptionsText();
+        assertFalse(selected.contains(last));
+        assertTrue(selected.contains("Option " + (size - 1)));
+        multiple.removeSelectedOption("Option 1");
+        multiple.removeSelectedOptions(List.of("Option 2", "Option 3"));
+        multiple.removeAllSelectedOptions();
+        assertEquals(Collections.emptyList(), multiple.getMultiSelectedOptionsText());
+        record(size, ".large-multiple", multiple);
+
+        InstrumentedSelect2 groups = instrument(decorated, ".large-groups");
+        groups.selectByText(last);
+        assertEquals(last, groups.getSelectedOptionText());
+        record(size, ".large-groups", groups);
+
+        InstrumentedSelect2 deep = instrument(decorated, ".deep-groups");
+        deep.selectByText("Level " + DEPTH + " option 10");
+        assertEquals("Level " + DEPTH + " option 10", deep.getSelectedOptionText());
+        record(size, ".deep-groups", deep);
+
+        for (String ajax : List.of(".ajax-slow", ".ajax-unordered", ".ajax-paginated")) {
+            InstrumentedSelect2 select2 = instrument(decorated, ajax);
+            select2.selectByText("qq");
+            assertEquals("qq", select2.getSelectedOptionText());
+            record(size, ajax, select2);
+        }
+    }
+
+    private static InstrumentedSelect2 instrument(WebDriver decorated, String cssSelector) {
+        return Select2Instrumentation.instrument(new Select2(decorated.findElement(By.cssSelector(cssSelector))));
+    }
+
+    private static void record(int size, String element, InstrumentedSelect2 select2) {
+        for (Map.Entry<String, OperationStats> entry : select2.getMetrics().getOperations().entrySet()) {
+            OperationStats stats = entry.getValue();
+            ROWS.add(String.format("%d,%s,%s,%d,%d,%d,%.1f", size, element, entry.getKey(), stats.getCount(),
+                    stats.getPercentile(50).toMillis(), stats.getPercentile(100).toMillis(), stats.getCommandsPerOperation()));
+        }
+    }
+}
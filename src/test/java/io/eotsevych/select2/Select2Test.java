@@ -3,45 +3,60 @@ package io.eotsevych.select2;
 import io.eotsevych.select2.exceptions.OptionIsNotSelectedException;
 import io.eotsevych.select2.exceptions.Select2DropdownNotOpenedException;
 import io.eotsevych.select2.exceptions.Select2NoOptionPresentException;
+import io.eotsevych.select2.instrumentation.CommandType;
+import io.eotsevych.select2.instrumentation.InstrumentedSelect2;
+import io.eotsevych.select2.instrumentation.OperationStats;
+import io.eotsevych.select2.instrumentation.Select2Instrumentation;
+import io.eotsevych.select2.instrumentation.Select2Metrics;
+import io.eotsevych.select2.instrumentation.Select2TraceAnalyzer;
+import io.eotsevych.select2.instrumentation.Select2TraceRecorder;
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.File;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @TestMethodOrder(MethodOrderer.DisplayName.class)
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class Select2Test {
     private final List<String> optionTextList = Arrays.asList("Alaska", "Hawaii", "California", "Nevada", "Oregon", "Washington");
     private WebDriver driver;
     private WebDriverWait webDriverWait;
 
-    @BeforeAll
-    void setup() throws MalformedURLException {
-        ChromeOptions chromeOptions = new ChromeOptions();
-        chromeOptions.addArguments("--disable-gpu", "--window-size=1920,1200", "--ignore-certificate-errors", "--disable-extensions", "--no-sandbox", "--disable-dev-shm-usage");
-
-        driver = new RemoteWebDriver(new URL("http://localhost:4444/wd/hub"), chromeOptions);
+    @BeforeEach
+    void setup() {
+        driver = TestDrivers.current();
         webDriverWait = new WebDriverWait(driver, Duration.of(2, ChronoUnit.SECONDS), Duration.of(500, ChronoUnit.MILLIS));
+        refresh();
     }
 
-    @BeforeEach
     void refresh() {
-        driver.get("file://" + new File("src/test/resources/index.html").getAbsolutePath());
+        driver.get(Select2TestServer.get().url("index.html"));
     }
 
     @Test
@@ -72,6 +87,39 @@ public class Select2Test {
         assertThrows(Select2NoOptionPresentException.class, () -> element.selectByText("No option"));
     }
 
+    @Test
+    void noOptionPresentSuggestionTest() {
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        Select2NoOptionPresentException exception = assertThrows(Select2NoOptionPresentException.class, () -> element.selectByText("Nevda"));
+        assertEquals(List.of("Nevada"), exception.getSuggestions());
+        assertTrue(element.isOptionPresentByText("  nevada "));
+    }
+
+    @Test
+    void failureDiagnosticsTest() throws IOException, ClassNotFoundException {
+        WebElement select = driver.findElement(By.cssSelector(".single-select"));
+        Select2 element = new Select2(select);
+        Select2NoOptionPresentException exception = assertThrows(Select2NoOptionPresentException.class, () -> element.selectByText("Atlantis"));
+        assertTrue(exception.getMessage().length() <= Select2Diagnostics.getMaxMessageLength());
+        if (Select2Diagnostics.getLevel() != DiagnosticsLevel.OFF) {
+            assertEquals(exception.getOptions().size(), exception.getSnapshot().optionCount());
+        }
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(exception);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            Select2NoOptionPresentException copy = (Select2NoOptionPresentException) in.readObject();
+            assertEquals(exception.getSnapshot(), copy.getSnapshot());
+            assertEquals(exception.getMessage(), copy.getMessage());
+        }
+
+        Select2Snapshot full = Select2Diagnostics.capture(driver, select, DiagnosticsLevel.FULL);
+        assertEquals(full.optionCount(), full.options().size());
+        assertTrue(full.render(100).length() <= 100);
+        assertNull(Select2Diagnostics.capture(driver, select, DiagnosticsLevel.OFF));
+    }
+
     @Test
     void dropdownNotOpenedExceptionTest() {
         final String textToSelect = optionTextList.stream().skip(new Random().nextInt(optionTextList.size())).findFirst().orElse(null);
@@ -338,6 +386,164 @@ public class Select2Test {
     }
 
 
+    @Test
+    void asyncTest() {
+        Select2Async single = new Select2Async(new Select2(driver.findElement(By.cssSelector(".single-select"))));
+        Select2Async multiple = new Select2Async(new Select2(driver.findElement(By.cssSelector(".multiple-select"))));
+
+        CompletableFuture<Void> singleSelection = single.selectByText("Nevada");
+        CompletableFuture<Void> multipleSelection = multiple.selectByText(List.of("Alaska", "Oregon"));
+        CompletableFuture<String> selected = single.getSelectedOptionText();
+
+        CompletableFuture.allOf(singleSelection, multipleSelection).join();
+        assertEquals("Nevada", selected.join());
+        assertEquals(List.of("Alaska", "Oregon"), multiple.getMultiSelectedOptionsText().join());
+        assertThrows(CompletionException.class, () -> single.selectByText("No option").join());
+    }
+
+    @Test
+    void adaptiveWaitTest() {
+        Select2Wait wait = new Select2Wait(driver, Duration.of(2, ChronoUnit.SECONDS));
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select")), wait);
+        element.selectByText("Nevada", false, true);
+
+        assertEquals("Nevada", element.getSelectedOptionText());
+        assertTrue(wait.getObservedLatency(Select2Wait.OPEN).compareTo(Duration.of(2, ChronoUnit.SECONDS)) < 0);
+        assertNull(new Select2Wait(driver, Duration.of(2, ChronoUnit.SECONDS)).getObservedLatency(Select2Wait.OPEN));
+
+        wait.withTimeout(Duration.of(200, ChronoUnit.MILLIS)).withMessage("custom message");
+        TimeoutException timeout = assertThrows(TimeoutException.class, () -> wait.until(d -> false));
+        assertTrue(timeout.getMessage().contains("custom message"));
+        assertThrows(TimeoutException.class, () -> wait.until(Select2Wait.OPEN, d -> false));
+    }
+
+    @Test
+    void interactionStrategyTest() {
+        for (InteractionStrategy strategy : List.of(InteractionStrategy.KEYBOARD, InteractionStrategy.SCRIPT)) {
+            refresh();
+            Select2 single = new Select2(driver.findElement(By.cssSelector(".single-select-hide-search")));
+            single.setInteractionStrategy(strategy);
+            single.selectByText("Oregon");
+            assertEquals("Oregon", single.getSelectedOptionText(), strategy.toString());
+
+            Select2 multiple = new Select2(driver.findElement(By.cssSelector(".multiple-select-remain-open")));
+            multiple.setInteractionStrategy(strategy);
+            multiple.selectByText(List.of("Hawaii", "Washington"));
+            assertEquals(List.of("Hawaii", "Washington"), multiple.getMultiSelectedOptionsText(), strategy.toString());
+        }
+
+        refresh();
+        AdaptiveInteractionStrategy adaptive = new AdaptiveInteractionStrategy();
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        element.setInteractionStrategy(adaptive);
+        for (String text : optionTextList) {
+            element.selectByText(text);
+            assertEquals(text, element.getSelectedOptionText());
+        }
+        assertNotNull(adaptive.getAverageLatency(InteractionStrategy.Interaction.OPEN, InteractionStrategy.SCRIPT));
+        assertEquals(1.0, adaptive.getSuccessRate(InteractionStrategy.Interaction.CHOOSE, InteractionStrategy.SCRIPT));
+    }
+
+    @Test
+    void adaptiveStrategyDemotesSilentFailuresTest() {
+        InteractionStrategy silent = new InteractionStrategy() {
+            @Override
+            public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+                InteractionStrategy.MOUSE.open(driver, selectElement, containerElement);
+            }
+
+            @Override
+            public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+            }
+
+            @Override
+            public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+            }
+        };
+        AdaptiveInteractionStrategy adaptive = new AdaptiveInteractionStrategy(silent, InteractionStrategy.MOUSE);
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".multiple-select-remain-open")));
+        element.setInteractionStrategy(adaptive);
+
+        element.selectByText(List.of("Alaska", "Nevada"));
+
+        assertEquals(List.of("Alaska", "Nevada"), element.getMultiSelectedOptionsText());
+        assertFalse(driver.findElement(By.cssSelector(".multiple-select-remain-open + .select2")).getAttribute("class").contains("select2-container--open"));
+        assertEquals(0.0, adaptive.getSuccessRate(InteractionStrategy.Interaction.CHOOSE, silent));
+        assertEquals(0.0, adaptive.getSuccessRate(InteractionStrategy.Interaction.CLOSE, silent));
+        assertSame(InteractionStrategy.MOUSE, adaptive.getPreferred(InteractionStrategy.Interaction.CHOOSE));
+    }
+
+    @Test
+    void failedChoiceIsUndoneBeforeClickingTest() {
+        List<InteractionStrategy.Interaction> failures = new ArrayList<>();
+        InteractionStrategy missing = new InteractionStrategy() {
+            @Override
+            public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+                InteractionStrategy.MOUSE.open(driver, selectElement, containerElement);
+            }
+
+            @Override
+            public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+                InteractionStrategy.MOUSE.close(driver, selectElement, containerElement);
+            }
+
+            @Override
+            public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+                InteractionStrategy.MOUSE.choose(driver, selectElement, containerElement, resultIndex + 1);
+            }
+
+            @Override
+            public void verificationFailed(Interaction interaction) {
+                failures.add(interaction);
+            }
+        };
+        Select2 single = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        single.setInteractionStrategy(missing);
+        Select2 multiple = new Select2(driver.findElement(By.cssSelector(".multiple-select-remain-open")));
+        multiple.setInteractionStrategy(missing);
+
+        single.selectByIndex(1);
+        multiple.selectByIndex(new int[]{1, 4});
+
+        assertEquals("Hawaii", single.getSelectedOptionText());
+        assertEquals(List.of("Alaska", "Nevada"), multiple.getMultiSelectedOptionsText());
+        assertEquals(List.of(InteractionStrategy.Interaction.CHOOSE, InteractionStrategy.Interaction.CHOOSE,
+                InteractionStrategy.Interaction.CHOOSE), failures);
+    }
+
+    @Test
+    void awaitDynamicResultsTest() {
+        driver.get(Select2TestServer.get().url("fixture.html?options=50&preselected=0"));
+        Select2 slow = new Select2(driver.findElement(By.cssSelector(".ajax-slow")));
+        slow.setSearchMode(SearchMode.PREFIX);
+        long start = System.nanoTime();
+        slow.selectByText("qq");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals("qq", slow.getSelectedOptionText());
+        assertEquals(1, slow.getLastSearchFetchCount());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(5)) < 0, "results were awaited for " + elapsed);
+
+        WebElement paginated = driver.findElement(By.cssSelector(".ajax-paginated"));
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        Long seen = (Long) executor.executeScript(Select2Scripts.ARM_RESULTS, paginated);
+        executor.executeScript("jQuery(arguments[0]).data('select2').trigger('query', {term: 'stale'});", paginated);
+        assertEquals(-1L, executor.executeAsyncScript(Select2Scripts.AWAIT_RESULTS, paginated, seen, "qq", 1000));
+
+        seen = (Long) executor.executeScript(Select2Scripts.ARM_RESULTS, paginated);
+        executor.executeScript("jQuery(arguments[0]).data('select2').trigger('query', {term: 'qq'});", paginated);
+        assertEquals(1L, executor.executeAsyncScript(Select2Scripts.AWAIT_RESULTS, paginated, seen, "qq", 1000));
+    }
+
+    @Test
+    void streamPaginatedDynamicDataTest() {
+        driver.get(Select2TestServer.get().url("fixture.html?options=50&preselected=0"));
+        Select2 select2 = new Select2(driver.findElement(By.cssSelector(".ajax-paginated")));
+        try (Stream<Select2Option> options = select2.streamOptions("qq")) {
+            assertEquals("qq result 50", options.reduce((first, second) -> second).orElseThrow().text());
+        }
+    }
+
     @Test
     void getAllOptionsText() {
         Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select")));
@@ -347,8 +553,432 @@ public class Select2Test {
 
     }
 
-    @AfterAll
-    void tearDown() {
-        driver.quit();
+    @Test
+    void scriptSingleSelectByTextTest() {
+        final String textToSelect = optionTextList.stream().skip(new Random().nextInt(optionTextList.size())).findFirst().orElse(null);
+
+        ScriptSelect2 element = new ScriptSelect2(driver.findElement(By.cssSelector(".single-select")));
+        element.selectByText(textToSelect);
+
+        String selectedOptionText = element.getSelectedOptionText();
+        assertEquals(textToSelect, selectedOptionText);
+    }
+
+    @Test
+    void scriptMultiSelectByTextTest() {
+        List<String> fewOptionValues = optionTextList.stream().skip(new Random().nextInt(optionTextList.size())).toList();
+
+        ScriptSelect2 element = new ScriptSelect2(driver.findElement(By.cssSelector(".multiple-select")));
+        element.selectByText(fewOptionValues);
+
+        List<String> chosenValues = element.getMultiSelectedOptionsText();
+        assertEquals(fewOptionValues, chosenValues);
+    }
+
+    @Test
+    void scriptCoveredSelectFiresSelectEventTest() {
+        final String textToSelect = "Oregon";
+
+        WebElement clickMeButton = driver.findElement(By.cssSelector("#clickMeButton"));
+        clickMeButton.click();
+
+        ScriptSelect2 element = new ScriptSelect2(driver.findElement(By.cssSelector(".single-select-covered")));
+        element.selectByText(textToSelect, true);
+
+        assertEquals(textToSelect, clickMeButton.getText());
+    }
+
+    @Test
+    void scriptSelectByIndexMatchesUiTest() {
+        ScriptSelect2 grouped = new ScriptSelect2(driver.findElement(By.cssSelector(".grouped-select")));
+        grouped.selectByIndex(4);
+        assertEquals("Arizona", grouped.getSelectedOptionText());
+
+        Select2 uiGrouped = new Select2(driver.findElement(By.cssSelector(".grouped-select")));
+        uiGrouped.selectByIndex(1);
+        assertEquals("California", uiGrouped.getSelectedOptionText());
+
+        ScriptSelect2 withDisabled = new ScriptSelect2(driver.findElement(By.cssSelector(".single-select-disabled-option")));
+        assertThrows(OptionIsNotSelectedException.class, () -> withDisabled.selectByIndex(1));
+        assertEquals("Select an option", withDisabled.getSelectedOptionText());
+    }
+
+    @Test
+    void scriptSelectDisabledOptionByTextTest() {
+        ScriptSelect2 element = new ScriptSelect2(driver.findElement(By.cssSelector(".single-select-disabled-option")));
+
+        assertThrows(OptionIsNotSelectedException.class, () -> element.selectByText("Hawaii"));
+        assertThrows(OptionIsNotSelectedException.class, () -> element.selectByText(List.of("Alaska", "Hawaii")));
+        assertEquals("Alaska", element.getSelectedOptionText());
+    }
+
+    @Test
+    void scriptRemoveAllChosenTest() {
+        ScriptSelect2 element = new ScriptSelect2(driver.findElement(By.cssSelector(".multiple-select-predefined")));
+
+        element.removeAllSelectedOptions();
+        List<String> getAllChosenValue = element.getMultiSelectedOptionsText();
+
+        assertEquals(Collections.emptyList(), getAllChosenValue);
+    }
+
+    @Test
+    void scriptSelectFromMultiSelectWithDynamicDataFallbackTest() {
+        final String searchQuery = "qq";
+
+        ScriptSelect2 element = new ScriptSelect2(driver.findElement(By.cssSelector(".itemSearch")));
+        element.selectByText(searchQuery);
+
+        List<String> chosen = element.getMultiSelectedOptionsText();
+        assertTrue(chosen.contains(searchQuery));
+    }
+
+    @Test
+    void getOptionSnapshotTest() {
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select-disabled-option")));
+        List<Select2Option> snapshot = element.getOptionSnapshot();
+
+        assertEquals(optionTextList, snapshot.stream().map(Select2Option::text).toList());
+        assertEquals("HI", snapshot.get(1).value());
+        assertTrue(snapshot.get(1).disabled());
+        assertFalse(snapshot.get(0).disabled());
+    }
+
+    @Test
+    void optgroupLabelsAreNotOptionsTest() {
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".grouped-select")));
+        List<Select2Option> snapshot = element.getOptionSnapshot();
+
+        assertEquals(List.of("California", "Nevada", "Arizona", "Colorado"), snapshot.stream().map(Select2Option::text).toList());
+        assertEquals("Mountain Time Zone", snapshot.get(2).optgroup());
+        assertThrows(Select2NoOptionPresentException.class, () -> element.selectByText("Pacific Time Zone"));
+
+        refresh();
+        Select2 reloaded = new Select2(driver.findElement(By.cssSelector(".grouped-select")));
+        reloaded.selectByText("Arizona");
+        assertEquals("Arizona", reloaded.getSelectedOptionText());
+    }
+
+    @Test
+    void optionCacheTest() {
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select")));
+
+        assertEquals(optionTextList, element.getOptions());
+        assertTrue(element.isOptionPresentByText("Nevada"));
+        assertFalse(element.isOptionPresentByText("Texas"));
+
+        Select2CacheStats stats = element.getCacheStats();
+        assertEquals(1, stats.misses());
+        assertEquals(2, stats.hits());
+    }
+
+    @Test
+    void optionCacheInvalidationTest() {
+        Select2 element = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        element.getOptions();
+
+        ((JavascriptExecutor) driver).executeScript("$('.single-select').append(new Option('Texas', 'TX'))");
+
+        assertTrue(element.isOptionPresentByText("Texas"));
+        assertEquals(1, element.getCacheStats().invalidations());
+    }
+
+    @Test
+    void instrumentedSelectByTextTest() {
+        WebDriver decoratedDriver = Select2Instrumentation.decorate(driver);
+        InstrumentedSelect2 element = Select2Instrumentation.instrument(new Select2(decoratedDriver.findElement(By.cssSelector(".single-select"))));
+
+        element.selectByText("Nevada");
+
+        OperationStats stats = element.getMetrics().get("selectByText");
+        assertEquals(1, stats.getCount());
+        assertTrue(stats.getCommandCount(CommandType.EXECUTE_SCRIPT) > 0);
+        assertTrue(Select2Metrics.global().dump().contains("selectByText"));
+    }
+
+    @Test
+    void traceRecorderTest() throws IOException {
+        Path trace = Files.createTempFile("select2-trace", ".jsonl");
+        WebDriver decoratedDriver = Select2Instrumentation.decorate(driver);
+        InstrumentedSelect2 element = Select2Instrumentation.instrument(new Select2(decoratedDriver.findElement(By.cssSelector(".single-select"))), "single-select");
+
+        try (Select2TraceRecorder recorder = Select2TraceRecorder.start(trace)) {
+            assertSame(recorder, Select2TraceRecorder.current());
+            element.selectByText("Nevada");
+            assertEquals(0, recorder.getDroppedEvents());
+        }
+        assertNull(Select2TraceRecorder.current());
+
+        List<String> events = Files.readAllLines(trace);
+        assertTrue(events.stream().anyMatch(event -> event.contains("\"event\":\"operation\"") && event.contains("\"widget\":\"single-select\"")));
+        assertTrue(events.stream().anyMatch(event -> event.contains("\"type\":\"EXECUTE_SCRIPT\"")));
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        assertEquals(0, Select2TraceAnalyzer.compare(trace, trace, 10, new PrintStream(report, true, StandardCharsets.UTF_8)));
+        String comparison = report.toString(StandardCharsets.UTF_8);
+        assertTrue(comparison.startsWith("operation"));
+        assertTrue(comparison.contains("selectByText"));
+        assertFalse(comparison.contains("REGRESSED"));
+    }
+
+    @Test
+    void pageScanTest() {
+        Select2Page page = Select2Page.scan(driver);
+
+        Select2Widget single = page.byClass("single-select").get(0);
+        assertEquals(new Select2Profile(false, true, false), single.profile());
+        assertEquals(new Select2Profile(false, false, false), page.byClass("single-select-hide-search").get(0).profile());
+        assertEquals(new Select2Profile(true, Select2Profile.SearchField.INLINE, true, true, true, null), page.byClass("itemSearch").get(0).profile());
+        assertNull(page.byId("e9"));
+
+        single.select2().selectByText("Oregon");
+        assertEquals("Oregon", single.select2().getSelectedOptionText());
+    }
+
+    @Test
+    void batchFillTest() {
+        Map<String, List<String>> selections = new LinkedHashMap<>();
+        selections.put(".single-select", List.of("Nevada"));
+        selections.put(".multiple-select", List.of("Alaska", "Oregon", "Atlantis"));
+        selections.put(".no-such-select", List.of("Nevada"));
+
+        Map<String, Select2BatchResult> results = Select2Batch.fill(driver, selections);
+
+        assertEquals(new Select2BatchResult(Select2BatchResult.Status.APPLIED, List.of("Nevada"), List.of()), results.get(".single-select"));
+        assertEquals(List.of("Atlantis"), results.get(".multiple-select").missing());
+        assertEquals(Select2BatchResult.Status.NOT_FOUND, results.get(".no-such-select").status());
+        assertEquals("Nevada", new Select2(driver.findElement(By.cssSelector(".single-select"))).getSelectedOptionText());
+        assertEquals(List.of("Alaska", "Oregon"), new Select2(driver.findElement(By.cssSelector(".multiple-select"))).getMultiSelectedOptionsText());
+    }
+
+    @Test
+    void batchFillDisabledOptionTest() {
+        Map<String, List<String>> selections = new LinkedHashMap<>();
+        selections.put(".single-select-disabled-option", List.of("Alaska", "Hawaii"));
+
+        Select2BatchResult result = Select2Batch.fill(driver, selections).get(".single-select-disabled-option");
+
+        assertEquals(new Select2BatchResult(Select2BatchResult.Status.APPLIED, List.of("Alaska"), List.of(), List.of(), List.of("Hawaii")), result);
+        assertFalse(result.isComplete());
+        assertEquals("Alaska", new Select2(driver.findElement(By.cssSelector(".single-select-disabled-option"))).getSelectedOptionText());
+    }
+
+    @Test
+    void batchFillPlainSelectTest() {
+        Map<String, List<String>> selections = new LinkedHashMap<>();
+        selections.put(".unexpected-select-structure", List.of("Alaska"));
+        selections.put(".single-select", List.of("Nevada"));
+
+        Map<String, Select2BatchResult> results = Select2Batch.fill(driver, selections);
+
+        assertEquals(new Select2BatchResult(Select2BatchResult.Status.NOT_FOUND, List.of(), List.of("Alaska")), results.get(".unexpected-select-structure"));
+        assertTrue(results.get(".single-select").isComplete());
+    }
+
+    @Test
+    void batchFillLocatedTest() {
+        Map<By, List<String>> selections = new LinkedHashMap<>();
+        selections.put(By.cssSelector(".single-select"), List.of("Alaska", "Nevada"));
+        selections.put(By.cssSelector(".no-such-select"), List.of("Nevada"));
+
+        Map<By, Select2BatchResult> results = Select2Batch.fillLocated(driver, selections);
+
+        assertEquals(new Select2BatchResult(Select2BatchResult.Status.APPLIED, List.of("Nevada"), List.of(), List.of("Alaska"), List.of()),
+                results.get(By.cssSelector(".single-select")));
+        assertFalse(results.get(By.cssSelector(".single-select")).isComplete());
+        assertEquals(Select2BatchResult.Status.NOT_FOUND, results.get(By.cssSelector(".no-such-select")).status());
+        assertEquals("Nevada", new Select2(driver.findElement(By.cssSelector(".single-select"))).getSelectedOptionText());
+    }
+
+    @Test
+    void factoryTest() {
+        try (Select2Factory factory = new Select2Factory(driver)) {
+            WebElement selectElement = driver.findElement(By.cssSelector(".single-select"));
+            Select2 select2 = factory.select2(selectElement);
+            assertSame(select2, factory.select2(selectElement));
+            assertSame(select2, factory.scan().select2ByClass("single-select"));
+            assertEquals(new Select2Profile(false, true, false), factory.getProfile(selectElement));
+
+            select2.selectByText("Oregon");
+            assertEquals("Oregon", select2.getSelectedOptionText());
+        }
+        Select2Factory registered = Select2Factory.of(driver);
+        assertSame(registered, Select2Factory.of(driver));
+        registered.close();
+        Select2Factory reregistered = Select2Factory.of(driver);
+        assertNotSame(registered, reregistered);
+        Select2Factory.release(driver);
+        assertNotSame(reregistered, Select2Factory.of(driver));
+        Select2Factory.release(driver);
+    }
+
+    @Test
+    void profileStoreTest() throws IOException {
+        String url = Select2TestServer.get().url("index.html");
+        Select2Profile expected = new Select2Profile(true, Select2Profile.SearchField.INLINE, false, false, false, null);
+        Select2ProfileStore store = new Select2ProfileStore();
+        try (Select2Factory factory = new Select2Factory(driver)) {
+            assertEquals(expected, factory.select2(By.cssSelector(".multiple-select-remain-open")).getProfile());
+            factory.exportProfiles(store, url);
+        }
+        Path file = Files.createTempFile("select2-profiles", ".json");
+        store.save(file);
+
+        try (Select2Factory factory = new Select2Factory(driver)) {
+            factory.preloadProfiles(Select2ProfileStore.load(file), url);
+            Select2 select2 = factory.select2(By.cssSelector(".multiple-select-remain-open"));
+            assertEquals(expected, select2.knownProfile());
+
+            select2.selectByText(List.of("Hawaii", "Oregon"));
+            assertEquals(List.of("Hawaii", "Oregon"), select2.getMultiSelectedOptionsText());
+        }
+    }
+
+    @Test
+    void jsoupReadStrategyTest() {
+        Select2 select2 = new Select2(driver.findElement(By.cssSelector(".multiple-select-predefined")));
+        List<String> selected = select2.getMultiSelectedOptionsText();
+        List<Select2Option> options = select2.getOptionSnapshot();
+
+        select2.setReadStrategy(ReadStrategy.JSOUP);
+        select2.invalidateOptionCache();
+        assertEquals(selected, select2.getMultiSelectedOptionsText());
+        assertEquals(options, select2.getOptionSnapshot());
+
+        Select2 single = new Select2(driver.findElement(By.cssSelector(".single-select-predefined")));
+        String text = single.getSelectedOptionText();
+        single.setReadStrategy(ReadStrategy.JSOUP);
+        assertEquals(text, single.getSelectedOptionText());
+    }
+
+    @Test
+    void prefixSearchModeTest() {
+        Select2 select2 = new Select2(driver.findElement(By.cssSelector(".multiple-select")));
+        select2.setSearchMode(SearchMode.PREFIX);
+        select2.selectByText(List.of("Alaska", "Nevada"));
+        assertEquals(List.of("Alaska", "Nevada"), select2.getMultiSelectedOptionsText());
+        assertEquals(0, select2.getLastSearchFetchCount());
+    }
+
+    @Test
+    void streamOptionsTest() {
+        Select2 select2 = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        try (Stream<Select2Option> options = select2.streamOptions("ne")) {
+            assertEquals("NV", options.filter(option -> option.hasText("Nevada")).findFirst().orElseThrow().value());
+        }
+        try (Stream<Select2Option> options = select2.streamOptions(null)) {
+            assertEquals(optionTextList, options.map(Select2Option::text).toList());
+        }
+    }
+
+    @Test
+    void removeSelectedOptionScopedToElementTest() {
+        Select2 multiSelect = new Select2(driver.findElement(By.cssSelector(".multiple-select")));
+        Select2 predefinedSelect = new Select2(driver.findElement(By.cssSelector(".multiple-select-predefined")));
+        multiSelect.selectByText("Nevada");
+
+        predefinedSelect.removeSelectedOption("Nevada");
+
+        assertEquals(List.of("Nevada"), multiSelect.getMultiSelectedOptionsText());
+        assertFalse(predefinedSelect.getMultiSelectedOptionsText().contains("Nevada"));
+    }
+
+    @Test
+    void locatorBasedReResolutionTest() {
+        Select2 select2 = new Select2(By.cssSelector(".single-select"), driver);
+        select2.selectByText("Oregon");
+        assertEquals("Oregon", select2.getSelectedOptionText());
+
+        refresh();
+
+        assertEquals(optionTextList, select2.getOptions());
+        select2.selectByText("Nevada");
+        assertEquals("Nevada", select2.getSelectedOptionText());
+    }
+
+    @Test
+    void resumeSelectionAfterStaleElementTest() {
+        String rerender = "var s = $('.multiple-select-remain-open');"
+                + "var c = $('<select class=\"multiple-select-remain-open form-control\" multiple=\"multiple\"></select>');"
+                + "s.find('option').each(function () { c.append(new Option(this.text, this.value, false, this.selected)); });"
+                + "s.select2('destroy'); s.replaceWith(c);"
+                + "c.select2({placeholder: 'Select a State', width: 'inherit', closeOnSelect: false});";
+        Select2 select2 = new Select2(By.cssSelector(".multiple-select-remain-open"), driver);
+        select2.setInteractionStrategy(new InteractionStrategy() {
+            private int chosen;
+
+            @Override
+            public void open(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+                InteractionStrategy.MOUSE.open(driver, selectElement, containerElement);
+            }
+
+            @Override
+            public void close(WebDriver driver, WebElement selectElement, WebElement containerElement) {
+                InteractionStrategy.MOUSE.close(driver, selectElement, containerElement);
+            }
+
+            @Override
+            public void choose(WebDriver driver, WebElement selectElement, WebElement containerElement, int resultIndex) {
+                InteractionStrategy.MOUSE.choose(driver, selectElement, containerElement, resultIndex);
+                if (++chosen == 1) {
+                    ((JavascriptExecutor) driver).executeScript(rerender);
+                }
+            }
+        });
+
+        select2.selectByText(List.of("Alaska", "Nevada", "Oregon"));
+
+        assertEquals(List.of("Alaska", "Nevada", "Oregon"), select2.getMultiSelectedOptionsText());
+    }
+
+    @Test
+    void selectByValueTest() {
+        Select2 multiSelect = new Select2(driver.findElement(By.cssSelector(".multiple-select")));
+        multiSelect.selectByValue("AK", "NV", "WA");
+        assertEquals(List.of("Alaska", "Nevada", "Washington"), multiSelect.getMultiSelectedOptionsText());
+
+        multiSelect.deselectByValue("NV");
+        assertEquals(List.of("Alaska", "Washington"), multiSelect.getMultiSelectedOptionsText());
+        assertThrows(Select2NoOptionPresentException.class, () -> multiSelect.selectByValue("TX"));
+
+        Select2 singleSelect = new Select2(driver.findElement(By.cssSelector(".single-select")));
+        singleSelect.selectByValue("OR");
+        assertEquals("Oregon", singleSelect.getSelectedOptionText());
+        assertThrows(IllegalArgumentException.class, () -> singleSelect.deselectByValue("OR"));
+        assertThrows(IllegalArgumentException.class, () -> singleSelect.selectByValue("AK", "NV"));
+        assertEquals("Oregon", singleSelect.getSelectedOptionText());
+
+        Select2 withDisabled = new Select2(driver.findElement(By.cssSelector(".single-select-disabled-option")));
+        withDisabled.selectByValue("AK");
+        assertThrows(OptionIsNotSelectedException.class, () -> withDisabled.selectByValue("HI"));
+        assertEquals("Alaska", withDisabled.getSelectedOptionText());
+    }
+
+    @Test
+    void removeSelectedOptionsVetoedByPageTest() {
+        ((JavascriptExecutor) driver).executeScript("$('.multiple-select-predefined').on('select2:unselecting', function (e) {"
+                + " if (e.params.args.data.id === 'NV') { e.preventDefault(); } })");
+        Select2 select2 = new Select2(driver.findElement(By.cssSelector(".multiple-select-predefined")));
+
+        assertThrows(IllegalStateException.class, () -> select2.removeSelectedOptions(List.of("California", "Nevada")));
+        assertEquals(List.of("Nevada", "Oregon", "Washington"), select2.getMultiSelectedOptionsText());
+        assertThrows(IllegalStateException.class, select2::removeAllSelectedOptions);
+        assertEquals(List.of("Nevada"), select2.getMultiSelectedOptionsText());
+    }
+
+    @Test
+    void removeManySelectedOptionsTest() {
+        ((JavascriptExecutor) driver).executeScript(
+                "for (var i = 0; i < 200; i++) { $('.multiple-select').append(new Option('Tag ' + i, 'T' + i, true, true)); }"
+                        + "$('.multiple-select').trigger('change')");
+        Select2 select2 = new Select2(driver.findElement(By.cssSelector(".multiple-select")));
+        assertEquals(200, select2.getMultiSelectedOptionsText().size());
+
+        select2.removeSelectedOptions(List.of("Tag 0", "Tag 199"));
+        assertEquals(198, select2.getMultiSelectedOptionsText().size());
+
+        select2.removeAllSelectedOptions();
+        assertEquals(Collections.emptyList(), select2.getMultiSelectedOptionsText());
+        assertFalse(driver.findElement(By.cssSelector(".multiple-select + .select2")).getAttribute("class").contains("select2-container--open"));
     }
 }
@@ -0,0 +1,175 @@
+package io.eotsevych.select2;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM HTTP server for the test pages, so that tests run without network access.
+ * <ul>
+ *     <li>{@code /<file>} - test resources, e.g. {@code /index.html}</li>
+ *     <li>{@code /webjars/<path>} - jQuery and Select2 assets of the WebJars test dependencies</li>
+ *     <li>{@code /search?q=<term>&page=<n>} - AJAX stub answering in the format of the GitHub repository search:
+ *     {@code {"total_count": n, "items": [{"id": .., "name": ..}], "more": bool}}</li>
+ *     <li>{@code /fixture.html?options=<n>&groups=<n>&depth=<n>&preselected=<n>} - page generated by {@link Select2Fixtures}</li>
+ * </ul>
+ * The stub answers after {@code select2.stub.latencyMs} milliseconds (0 by default) with pages of
+ * {@code select2.stub.pageSize} items (30 by default) out of {@code select2.stub.total} results (100 by default).
+ * Each request can override them with {@code latency}, {@code pageSize} and {@code total} query parameters;
+ * with the {@code jitter} parameter every response is delayed by additional random milliseconds up to the given value,
+ * so that responses of successive requests arrive out of order.
+ * The first result is named after the search term, the others {@code <term> result <n>}.
+ * The host name used in page URLs is {@code select2.test.host} ({@code localhost} by default), so that a remote
+ * browser can reach the server.
+ */
+final class Select2TestServer {
+    private static final String WEBJARS = "/webjars/";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "png", "image/png",
+            "json", "application/json; charset=utf-8");
+    private static Select2TestServer instance;
+
+    private final HttpServer server;
+    private final String host = System.getProperty("select2.test.host", "localhost");
+
+    private Select2TestServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(0), 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "select2-test-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/search", this::search);
+        server.createContext("/fixture.html", this::fixture);
+        server.createContext("/", this::resource);
+        server.start();
+    }
+
+    /**
+     * Get the server shared by all tests of the JVM, starting it on first use.
+     *
+     * @return running server
+     */
+    static synchronized Select2TestServer get() {
+        if (instance == null) {
+            instance = new Select2TestServer();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the URL of a test page.
+     *
+     * @param page - path of the page relative to the test resources, e.g. {@code index.html}
+     * @return absolute URL of the page
+     */
+    String url(String page) {
+        return "http://" + host + ":" + server.getAddress().getPort() + "/" + page;
+    }
+
+    private void resource(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String resource = path.startsWith(WEBJARS)
+                ? "META-INF/resources" + path
+                : path.equals("/") ? "index.html" : path.substring(1);
+        try (InputStream body = Select2TestServer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (body == null || resource.contains("..")) {
+                send(exchange, 404, "text/plain", ("Not found: " + path).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String extension = resource.substring(resource.lastIndexOf('.') + 1);
+            send(exchange, 200, CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"), body.readAllBytes());
+        }
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        String term = query.getOrDefault("q", "");
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int pageSize = intParameter(query, "pageSize", 30);
+        int total = intParameter(query, "total", 100);
+        int jitter = intParameter(query, "jitter", 0);
+        sleep(Duration.ofMillis(intParameter(query, "latency", 0) + (jitter > 0 ? ThreadLocalRandom.current().nextInt(jitter + 1) : 0)));
+
+        StringBuilder json = new StringBuilder("{\"total_count\":").append(total).append(",\"items\":[");
+        int from = (page - 1) * pageSize;
+        int to = Math.min(total, from + pageSize);
+        for (int i = from; i < to; i++) {
+            json.append(i > from ? "," : "").append("{\"id\":").append(i + 1)
+                    .append(",\"name\":\"").append(escape(i == 0 ? term : term + " result " + (i + 1))).append("\"}");
+        }
+        json.append("],\"more\":").append(to < total).append('}');
+        send(exchange, 200, CONTENT_TYPES.get("json"), json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void fixture(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        String page = Select2Fixtures.page(
+                Integer.parseInt(query.getOrDefault("options", "1000")),
+                Integer.parseInt(query.getOrDefault("groups", "10")),
+                Integer.parseInt(query.getOrDefault("depth", "5")),
+                Integer.parseInt(query.getOrDefault("preselected", "500")));
+        send(exchange, 200, CONTENT_TYPES.get("html"), page.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        return value != null ? Integer.parseInt(value) : Integer.getInteger("select2.stub." + name + (name.equals("latency") ? "Ms" : ""), defaultValue);
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static void sleep(Duration latency) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(latency.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
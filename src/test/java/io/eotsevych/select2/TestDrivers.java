@@ -0,0 +1,61 @@
+package io.eotsevych.select2;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * WebDriver per test thread, so that test methods can run concurrently.
+ * Drivers are created on first use by a thread and quit when the JVM exits.
+ * With the {@code select2.remote.url} system property, drivers are created on that Selenium grid,
+ * otherwise a local headless Chrome is started.
+ */
+final class TestDrivers {
+    private static final List<WebDriver> DRIVERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<WebDriver> CURRENT = ThreadLocal.withInitial(TestDrivers::create);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> DRIVERS.forEach(driver -> {
+            Select2Factory.release(driver);
+            driver.quit();
+        })));
+    }
+
+    private TestDrivers() {
+    }
+
+    /**
+     * Get the driver of the current thread.
+     *
+     * @return driver owned by the current thread
+     */
+    static WebDriver current() {
+        return CURRENT.get();
+    }
+
+    private static WebDriver create() {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        chromeOptions.addArguments("--disable-gpu", "--window-size=1920,1200", "--ignore-certificate-errors", "--disable-extensions", "--no-sandbox", "--disable-dev-shm-usage");
+
+        String remoteUrl = System.getProperty("select2.remote.url", "");
+        WebDriver driver;
+        if (remoteUrl.isBlank()) {
+            chromeOptions.addArguments("--headless=new");
+            driver = new ChromeDriver(chromeOptions);
+        } else {
+            try {
+                driver = new RemoteWebDriver(URI.create(remoteUrl).toURL(), chromeOptions);
+            } catch (MalformedURLException ex) {
+                throw new IllegalArgumentException("Invalid select2.remote.url: " + remoteUrl, ex);
+            }
+        }
+        DRIVERS.add(driver);
+        return driver;
+    }
+}